@@ -0,0 +1,128 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import com.inmaytide.orbit.commons.utils.NamedStopWatch;
+import org.quartz.JobExecutionContext;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scheduled job whose logic completes asynchronously, for I/O-bound jobs that mostly wait on remote calls.
+ * <p>
+ * {@link #execute(JobExecutionContext)} starts {@link #execAsync(JobExecutionContext, NamedStopWatch)} and
+ * returns the worker thread to the pool right away; logging, timing, retries and cancellation are applied
+ * when the returned stage completes. At most {@link #getMaxConcurrency()} runs of the job are in progress on
+ * a node, a firing finding no free permit is skipped.
+ * </p>
+ *
+ * <p>
+ * Quartz considers a run complete once its worker thread is released, so
+ * {@link org.quartz.DisallowConcurrentExecution} does not prevent overlapping runs (the concurrency limit does)
+ * and the cost of the job only counts against the node capacity while the run is being started.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public interface AsyncJobAdapter extends JobAdapter {
+
+    /**
+     * Returns the maximum number of runs of this job in progress at once on this node.
+     *
+     * @return concurrency limit, at least 1
+     */
+    default int getMaxConcurrency() {
+        return getParameters().getMaxConcurrency();
+    }
+
+    /**
+     * Starts the job asynchronously and tracks the returned stage instead of the worker thread.
+     *
+     * @param context Quartz job context
+     */
+    @Override
+    default void execute(JobExecutionContext context) {
+        if (isDeactivated()) {
+            getLogger().info("Scheduled task [{}] is deactivated and will not be executed.", getName());
+            JobExecutionOutcome.SKIPPED.record(context);
+            return;
+        }
+        // Resolve everything that can fail before taking a permit, a leaked permit would skip the job for good
+        int maxConcurrency = getMaxConcurrency();
+        int attempt = getRetryAttempt(context);
+        Duration maxRuntime = getMaxRuntime();
+        RetryPolicy retryPolicy = getRetryPolicy();
+        Semaphore permits = AsyncJobPermits.of(getName(), maxConcurrency);
+        if (!permits.tryAcquire()) {
+            getLogger().warn("Scheduled task [{}] skipped, {} run(s) are still in progress.", getName(), maxConcurrency);
+            JobExecutionOutcome.SKIPPED.record(context);
+            return;
+        }
+        NamedStopWatch stopWatch = NamedStopWatch.createStarted(getName());
+        if (attempt > 0) {
+            getLogger().info("Scheduled task [{}] execution started (retry attempt {}).", getName(), attempt);
+        } else {
+            getLogger().info("Scheduled task [{}] execution started.", getName());
+        }
+        JobExecution execution = JobExecution.beginDetached(this, context, maxRuntime, retryPolicy);
+        CompletableFuture<JobExecutionOutcome> outcome = new CompletableFuture<>();
+        JobExecutionOutcome.pending(context, outcome);
+
+        CompletableFuture<?> future;
+        try {
+            future = Objects.requireNonNull(execAsync(context, stopWatch), "execAsync must not return null").toCompletableFuture();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        execution.attach(future);
+        future.whenComplete((result, error) -> {
+            try {
+                outcome.complete(execution.complete(this, context, error == null ? null : unwrap(error)));
+            } catch (RuntimeException e) {
+                outcome.completeExceptionally(e);
+                getLogger().error("Failed to complete scheduled task [{}]. Cause: {}", getName(), e.getMessage(), e);
+            } finally {
+                execution.end(this);
+                permits.release();
+                stopWatch.stop(getLogger());
+            }
+        });
+    }
+
+    /**
+     * Runs the job and waits for it on the calling thread.
+     */
+    @Override
+    default void exec(JobExecutionContext context, NamedStopWatch stopWatch) throws Exception {
+        try {
+            execAsync(context, stopWatch).toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Abstract method to implement job-specific logic without blocking the calling thread.
+     * Long-running stages should check {@link #getCancellationToken()}; a cancelled run completes with a
+     * {@link java.util.concurrent.CancellationException} whether or not the stage itself stops.
+     *
+     * @param context   Quartz job context
+     * @param stopWatch stopwatch to record duration of execution, stopped when the stage completes
+     * @return stage completing when the job is done
+     * @throws Exception if the job cannot be started
+     */
+    CompletionStage<?> execAsync(JobExecutionContext context, NamedStopWatch stopWatch) throws Exception;
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception e ? e : new CompletionException(cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Per-job permits bounding the runs of an {@link AsyncJobAdapter} in progress on this node.
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+final class AsyncJobPermits {
+
+    private static final Map<String, Permits> PERMITS = new ConcurrentHashMap<>();
+
+    private AsyncJobPermits() {
+    }
+
+    /**
+     * Returns the permits of the given job. When the limit changes, runs in progress keep and release
+     * the permits they took from the previous limit.
+     */
+    static Semaphore of(String jobName, int maxConcurrency) {
+        int limit = Math.max(1, maxConcurrency);
+        return PERMITS.compute(jobName, (name, current) -> current != null && current.limit() == limit
+                ? current
+                : new Permits(limit, new Semaphore(limit))).semaphore();
+    }
+
+    private record Permits(int limit, Semaphore semaphore) {
+    }
+}
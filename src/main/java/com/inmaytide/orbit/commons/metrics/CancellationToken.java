@@ -0,0 +1,79 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation signal for a single job execution.
+ * <p>
+ * Long-running jobs should poll {@link #isCancellationRequested()} or call
+ * {@link #throwIfCancellationRequested()} between units of work, so an overrunning or
+ * interrupted run stops early and frees its worker thread.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public final class CancellationToken {
+
+    /**
+     * Token that is never cancelled, used outside of a tracked execution.
+     */
+    static final CancellationToken NONE = new CancellationToken();
+
+    private volatile Reason reason;
+
+    CancellationToken() {
+    }
+
+    boolean cancel(Reason reason) {
+        if (this == NONE || this.reason != null) {
+            return false;
+        }
+        this.reason = reason;
+        return true;
+    }
+
+    public boolean isCancellationRequested() {
+        return reason != null;
+    }
+
+    /**
+     * Returns why cancellation was requested.
+     *
+     * @return cancellation reason, or null if not cancelled
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Throws if cancellation has been requested.
+     *
+     * @throws CancellationException if the execution was cancelled
+     */
+    public void throwIfCancellationRequested() {
+        Reason current = reason;
+        if (current != null) {
+            throw new CancellationException("Job execution cancelled: " + current);
+        }
+    }
+
+    public enum Reason {
+
+        /**
+         * The execution exceeded its configured max runtime.
+         */
+        TIMEOUT,
+
+        /**
+         * The execution was interrupted through {@link org.quartz.Scheduler#interrupt}.
+         */
+        INTERRUPTED,
+
+        /**
+         * The node is shutting down; the job should checkpoint its progress and stop by throwing,
+         * so that it is re-submitted to the cluster.
+         */
+        SHUTDOWN
+    }
+}
@@ -0,0 +1,132 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import com.inmaytide.orbit.commons.utils.ApplicationContextHolder;
+import org.quartz.JobDetail;
+import org.quartz.JobPersistenceException;
+import org.quartz.SchedulerConfigException;
+import org.quartz.Trigger;
+import org.quartz.impl.jdbcjobstore.JobStoreTX;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link JobStoreTX} that spreads work across a cluster according to node capacity.
+ * <p>
+ * Each acquired trigger reserves the cost of its job ({@link JobParameter#getCost()}) against
+ * the node's budget ({@code metrics.node-capacity}). A saturated node defers acquisition entirely,
+ * and triggers that would push it over budget are released back to the cluster, so another node
+ * picks them up.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public class CapacityAwareJobStoreTX extends JobStoreTX {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CapacityAwareJobStoreTX.class);
+
+    private SchedulerSignaler signaler;
+
+    private volatile boolean deferred;
+
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler signaler) throws SchedulerConfigException {
+        super.initialize(loadHelper, signaler);
+        this.signaler = signaler;
+        LOG.info("Capacity aware job store initialized with node capacity {}.", NodeLoad.getCapacity());
+    }
+
+    public void setNodeCapacity(int nodeCapacity) {
+        NodeLoad.setCapacity(nodeCapacity);
+    }
+
+    @Override
+    public List<OperableTrigger> acquireNextTriggers(long noLaterThan, int maxCount, long timeWindow) throws JobPersistenceException {
+        if (NodeLoad.isSaturated()) {
+            deferred = true;
+            LOG.debug("Node load {} reached capacity {}, deferring trigger acquisition.", NodeLoad.getLoad(), NodeLoad.getCapacity());
+            return Collections.emptyList();
+        }
+
+        List<OperableTrigger> acquired = super.acquireNextTriggers(noLaterThan, maxCount, timeWindow);
+        List<OperableTrigger> accepted = new ArrayList<>(acquired.size());
+        for (OperableTrigger trigger : acquired) {
+            String jobName = trigger.getJobKey().getName();
+            if (NodeLoad.tryReserve(trigger.getFireInstanceId(), jobName, getCost(jobName))) {
+                accepted.add(trigger);
+            } else {
+                deferred = true;
+                LOG.debug("Releasing trigger [{}] of task [{}], node load {} would exceed capacity {}.",
+                        trigger.getKey(), jobName, NodeLoad.getLoad(), NodeLoad.getCapacity());
+                super.releaseAcquiredTrigger(trigger);
+            }
+        }
+        return accepted;
+    }
+
+    @Override
+    public void releaseAcquiredTrigger(OperableTrigger trigger) {
+        super.releaseAcquiredTrigger(trigger);
+        release(trigger.getFireInstanceId());
+    }
+
+    @Override
+    public List<TriggerFiredResult> triggersFired(List<OperableTrigger> triggers) throws JobPersistenceException {
+        List<TriggerFiredResult> results;
+        try {
+            results = super.triggersFired(triggers);
+        } catch (JobPersistenceException | RuntimeException e) {
+            triggers.forEach(trigger -> release(trigger.getFireInstanceId()));
+            throw e;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            TriggerFiredResult result = results.get(i);
+            if (result.getException() != null || result.getTriggerFiredBundle() == null) {
+                release(triggers.get(i).getFireInstanceId());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void triggeredJobComplete(OperableTrigger trigger, JobDetail jobDetail, Trigger.CompletedExecutionInstruction triggerInstCode) {
+        super.triggeredJobComplete(trigger, jobDetail, triggerInstCode);
+        release(trigger.getFireInstanceId());
+    }
+
+    private void release(String fireInstanceId) {
+        if (NodeLoad.release(fireInstanceId) && deferred && !NodeLoad.isSaturated()) {
+            // Wake the scheduler thread instead of letting it sit out its idle wait
+            deferred = false;
+            signaler.signalSchedulingChange(0L);
+        }
+    }
+
+    /**
+     * Reads the cost from the parameters already at hand only: this runs on the scheduler thread for every
+     * acquired trigger, where a database lookup would stall acquisition exactly when the node is under load.
+     */
+    private int getCost(String jobName) {
+        try {
+            return ApplicationContextHolder.getInstance()
+                    .getBean(JobParametersHolder.class)
+                    .getIfAvailable(jobName)
+                    .map(parameter -> Math.max(1, parameter.getCost()))
+                    .orElseGet(() -> {
+                        LOG.debug("Parameters of task [{}] are not loaded yet, assuming cost 1.", jobName);
+                        return 1;
+                    });
+        } catch (Exception e) {
+            LOG.debug("Unable to resolve cost of task [{}], assuming 1. Cause: {}", jobName, e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -3,18 +3,27 @@ package com.inmaytide.orbit.commons.metrics;
 import org.quartz.utils.DBConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.lang.NonNull;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Loads job parameters from the database, with a 30-minute memory cache.
+ * <p>
+ * The cache fails static: if a reload fails, the stale entry keeps being served. Names without a
+ * {@code job_parameter} row are cached negatively for a minute, and database access is guarded by a
+ * circuit breaker with exponential backoff, so an outage costs a bounded number of queries.
+ * </p>
  *
  * @author inmaytide
  * @since 2023/8/3
@@ -25,6 +34,8 @@ public class JdbcJobParametersHolder implements JobParametersHolder {
 
     private static final long CACHE_VALID_SECONDS = 30 * 60;
 
+    private static final long NEGATIVE_CACHE_VALID_SECONDS = 60;
+
     private static final String SQL_GET_JOB_PARAMETER = """
                 SELECT
                     name,
@@ -40,47 +51,194 @@ public class JdbcJobParametersHolder implements JobParametersHolder {
 
     private static final Map<String, JobParameter> CACHE = new ConcurrentHashMap<>();
 
+    private static final Map<String, Instant> MISSING = new ConcurrentHashMap<>();
+
+    private static final CircuitBreaker BREAKER = new CircuitBreaker(3, Duration.ofSeconds(5), Duration.ofMinutes(5));
+
     @Override
     public JobParameter get(@NonNull String name) {
         JobParameter cached = CACHE.get(name);
         if (cached == null) {
+            if (isMissing(name)) {
+                throw new IllegalStateException("No JobParameter found for task name: " + name);
+            }
             LOG.info("No cached JobParameter for task '{}', loading from database.", name);
-            return reload(name);
+            return reload(name, null);
         } else if (isExpired(cached)) {
             LOG.info("Cached JobParameter for task '{}' expired, reloading.", name);
-            return reload(name);
+            return reload(name, cached);
         }
         LOG.debug("Using cached JobParameter for task '{}'", name);
         return cached;
     }
 
+    /**
+     * Serves the cached entry even if expired, never querying the database.
+     */
+    @Override
+    public Optional<JobParameter> getIfAvailable(String name) {
+        return Optional.ofNullable(CACHE.get(name));
+    }
+
     private boolean isExpired(JobParameter parameter) {
         return Duration.between(parameter.getLoadTime(), Instant.now()).getSeconds() > CACHE_VALID_SECONDS;
     }
 
-    private JobParameter reload(String name) {
+    private boolean isMissing(String name) {
+        Instant since = MISSING.get(name);
+        if (since == null) {
+            return false;
+        }
+        if (Duration.between(since, Instant.now()).getSeconds() > NEGATIVE_CACHE_VALID_SECONDS) {
+            MISSING.remove(name, since);
+            return false;
+        }
+        return true;
+    }
+
+    private JobParameter reload(String name, JobParameter stale) {
+        if (!BREAKER.tryAcquire()) {
+            if (stale != null) {
+                LOG.warn("Job parameter loader circuit is open, serving stale JobParameter for task '{}'.", name);
+                return stale;
+            }
+            throw new IllegalStateException("Job parameter loader circuit is open, unable to load job parameter for task: " + name);
+        }
+
+        // Only database failures count against the circuit, a malformed row must not open it for every job
+        Optional<Row> loaded;
+        try {
+            loaded = load(name);
+            BREAKER.onSuccess();
+        } catch (SQLException | DataAccessException e) {
+            BREAKER.onFailure();
+            if (stale != null) {
+                LOG.warn("Failed to reload JobParameter for task '{}', serving stale entry. Cause: {}", name, e.getMessage());
+                return stale;
+            }
+            throw new RuntimeException("Failed to load job parameter for task: " + name, e);
+        } finally {
+            BREAKER.release();
+        }
+
+        if (loaded.isEmpty()) {
+            CACHE.remove(name);
+            MISSING.put(name, Instant.now());
+            throw new IllegalStateException("No JobParameter found for task name: " + name);
+        }
+        JobParameter parameter = loaded.get().toBuilder(name).build();
+        CACHE.put(name, parameter);
+        MISSING.remove(name);
+        LOG.info("Successfully loaded JobParameter for task '{}'", name);
+        return parameter;
+    }
+
+    private Optional<Row> load(String name) throws SQLException {
         try (Connection conn = DBConnectionManager.getInstance().getConnection("orbit");
              PreparedStatement stmt = conn.prepareStatement(SQL_GET_JOB_PARAMETER)) {
             stmt.setString(1, name);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    JobParameter parameter = JobParameter.withName(name)
-                            .activated(rs.getBoolean("activated"))
-                            .cronExpression(rs.getString("cron"))
-                            .fixedTime(rs.getBigDecimal("fixed_time"))
-                            .fireOnceOnServiceStartup(rs.getBoolean("fire_once_on_service_startup"))
-                            .reinitializeIfExistsOnServiceStartup(rs.getBoolean("reinitialize_if_exists_on_service_startup"))
-                            .others(rs.getString("others"))
-                            .build();
-                    CACHE.put(name, parameter);
-                    LOG.info("Successfully loaded JobParameter for task '{}'", name);
-                    return parameter;
-                } else {
-                    throw new IllegalStateException("No JobParameter found for task name: " + name);
+                if (!rs.next()) {
+                    return Optional.empty();
                 }
+                return Optional.of(new Row(
+                        rs.getBoolean("activated"),
+                        rs.getString("cron"),
+                        rs.getBigDecimal("fixed_time"),
+                        rs.getBoolean("fire_once_on_service_startup"),
+                        rs.getBoolean("reinitialize_if_exists_on_service_startup"),
+                        rs.getString("others")));
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load job parameter for task: " + name, e);
+        }
+    }
+
+    /**
+     * Raw {@code job_parameter} row, read inside the circuit and parsed outside of it.
+     */
+    private record Row(boolean activated,
+                       String cron,
+                       BigDecimal fixedTime,
+                       boolean fireOnceOnServiceStartup,
+                       boolean reinitializeIfExistsOnServiceStartup,
+                       String others) {
+
+        JobParameter.Builder toBuilder(String name) {
+            return JobParameter.withName(name)
+                    .activated(activated)
+                    .cronExpression(cron)
+                    .fixedTime(fixedTime)
+                    .fireOnceOnServiceStartup(fireOnceOnServiceStartup)
+                    .reinitializeIfExistsOnServiceStartup(reinitializeIfExistsOnServiceStartup)
+                    .others(others);
+        }
+    }
+
+    /**
+     * Consecutive-failure circuit breaker around the database loader.
+     * <p>
+     * Opens after {@code threshold} consecutive failures and stays open for a backoff that doubles with
+     * every further failure, up to {@code maxBackoff}. Once the backoff elapses a single trial request is
+     * let through; its outcome closes the circuit or re-opens it with a longer backoff.
+     * </p>
+     */
+    private static final class CircuitBreaker {
+
+        private final int threshold;
+        private final Duration initialBackoff;
+        private final Duration maxBackoff;
+
+        private int consecutiveFailures;
+        private Instant openUntil = Instant.MIN;
+        private boolean trialInFlight;
+
+        private CircuitBreaker(int threshold, Duration initialBackoff, Duration maxBackoff) {
+            this.threshold = threshold;
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (consecutiveFailures < threshold) {
+                return true;
+            }
+            if (trialInFlight || Instant.now().isBefore(openUntil)) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            if (consecutiveFailures >= threshold) {
+                LOG.info("Job parameter loader recovered, closing circuit.");
+            }
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        /**
+         * Ends the trial request if it is still in flight, whatever way the request ended.
+         */
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            trialInFlight = false;
+            if (consecutiveFailures >= threshold) {
+                Duration backoff = backoff(consecutiveFailures - threshold);
+                openUntil = Instant.now().plus(backoff);
+                LOG.warn("Job parameter loader failed {} time(s) in a row, opening circuit for {}s.", consecutiveFailures, backoff.toSeconds());
+            }
+        }
+
+        private Duration backoff(int exponent) {
+            if (exponent >= 30) {
+                return maxBackoff;
+            }
+            Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+            return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
         }
     }
 }
@@ -3,12 +3,16 @@ package com.inmaytide.orbit.commons.metrics;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.inmaytide.orbit.commons.utils.ApplicationContextHolder;
 import com.inmaytide.orbit.commons.utils.NamedStopWatch;
+import org.quartz.InterruptableJob;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.slf4j.Logger;
 import org.springframework.lang.NonNull;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Base interface for scheduled jobs in Quartz.
@@ -25,7 +29,7 @@ import java.math.BigDecimal;
  * @author inmaytide
  * @since 2023/5/30
  */
-public interface JobAdapter extends Job {
+public interface JobAdapter extends InterruptableJob {
 
     /**
      * Returns the logger to be used for job execution logging.
@@ -99,6 +103,107 @@ public interface JobAdapter extends Job {
         return getParameters().getOthers();
     }
 
+    /**
+     * Returns the names of the jobs this job depends on.
+     * A dependent job is triggered as soon as all of its upstream jobs have completed successfully.
+     *
+     * @return upstream job names, empty if the job has no dependencies
+     */
+    default List<String> getDependsOn() {
+        return getParameters().getDependsOn();
+    }
+
+    /**
+     * Returns the retry policy applied when {@link #exec(JobExecutionContext, NamedStopWatch)} fails.
+     *
+     * @return retry policy, disabled unless configured
+     */
+    default RetryPolicy getRetryPolicy() {
+        return getParameters().getRetryPolicy();
+    }
+
+    /**
+     * Returns the retry attempt of the given execution.
+     *
+     * @param context Quartz job context
+     * @return 0 for a regular firing, otherwise the retry attempt starting at 1
+     */
+    default int getRetryAttempt(JobExecutionContext context) {
+        return RetryTriggers.getAttempt(context);
+    }
+
+    /**
+     * Returns the maximum runtime of a single execution.
+     * {@link JobExecutionWatchdog} cancels executions running longer than this.
+     *
+     * @return max runtime, or null if unlimited
+     */
+    default Duration getMaxRuntime() {
+        return getParameters().getMaxRuntime();
+    }
+
+    /**
+     * Returns the relative cost of a single execution, used to balance load across a cluster.
+     *
+     * @return execution cost, at least 1
+     */
+    default int getCost() {
+        return getParameters().getCost();
+    }
+
+    /**
+     * Returns the trigger priority of this job. Higher values fire first when triggers compete
+     * for threads, and are released first by the startup ramp.
+     *
+     * @return trigger priority
+     */
+    default int getPriority() {
+        return getParameters().getPriority();
+    }
+
+    /**
+     * Returns the cancellation token of the execution currently running on this instance.
+     * Long loops in {@link #exec(JobExecutionContext, NamedStopWatch)} should check it to stop early.
+     *
+     * @return cancellation token, never cancelled outside of an execution
+     */
+    default CancellationToken getCancellationToken() {
+        return JobExecution.of(this).map(JobExecution::getToken).orElse(CancellationToken.NONE);
+    }
+
+    /**
+     * Applies {@code branch} to every item concurrently on virtual threads, at most {@code parallelism} at a time,
+     * for jobs processing many tenants or partitions within one run.
+     * <p>
+     * If a branch fails, or the run is cancelled, no further branch starts and the running ones are interrupted;
+     * the first failure is rethrown once every branch has stopped. The duration of each branch is recorded as a task
+     * {@code <job name>#<item>} of the run's stopwatch, and one summary with the slowest items is logged through
+     * {@link #getLogger()}.
+     * </p>
+     *
+     * @param items       items to process, one branch each
+     * @param parallelism maximum number of branches running at once
+     * @param stopWatch   stopwatch of the run, as passed to {@link #exec(JobExecutionContext, NamedStopWatch)}
+     * @param branch      work applied to each item
+     * @return results in the order of {@code items}
+     * @throws Exception the first exception thrown by a branch, or a cancellation of the run
+     */
+    default <T, R> List<R> mapConcurrently(Collection<? extends T> items,
+                                           int parallelism,
+                                           NamedStopWatch stopWatch,
+                                           Branch<? super T, ? extends R> branch) throws Exception {
+        return JobBranches.map(this, items, parallelism, stopWatch, branch);
+    }
+
+    /**
+     * Requests cancellation of the running execution and interrupts its worker thread.
+     * Called by Quartz through {@link org.quartz.Scheduler#interrupt}.
+     */
+    @Override
+    default void interrupt() {
+        JobExecution.of(this).ifPresent(execution -> execution.cancel(CancellationToken.Reason.INTERRUPTED));
+    }
+
     /**
      * Indicates whether the job should be triggered once immediately
      * when the service starts.
@@ -123,6 +228,9 @@ public interface JobAdapter extends Job {
      * Executes the Quartz job with standardized logging and stopwatch timing.
      * <p>
      * If the job is deactivated, it will not execute {@link #exec(JobExecutionContext, NamedStopWatch)}.
+     * A failed run is retried through a one-shot trigger according to {@link #getRetryPolicy()}.
+     * The run is tracked as a {@link JobExecution} so it can be cancelled on timeout, interrupt or shutdown.
+     * When {@link JobResourceUsage} is enabled, the CPU time and allocations of the run are logged with its duration.
      * </p>
      *
      * @param context Quartz job context
@@ -131,15 +239,35 @@ public interface JobAdapter extends Job {
     default void execute(JobExecutionContext context) {
         if (isDeactivated()) {
             getLogger().info("Scheduled task [{}] is deactivated and will not be executed.", getName());
+            JobExecutionOutcome.SKIPPED.record(context);
             return;
         }
+        // Resolved up front, a failed run must be retried even if the job parameters cannot be read by then
+        RetryPolicy retryPolicy = getRetryPolicy();
+        Duration maxRuntime = getMaxRuntime();
         NamedStopWatch stopWatch = NamedStopWatch.createStarted(getName());
-        getLogger().info("Scheduled task [{}] execution started.", getName());
+        int attempt = getRetryAttempt(context);
+        if (attempt > 0) {
+            getLogger().info("Scheduled task [{}] execution started (retry attempt {}).", getName(), attempt);
+        } else {
+            getLogger().info("Scheduled task [{}] execution started.", getName());
+        }
+        JobExecution execution = JobExecution.begin(this, context, maxRuntime, retryPolicy);
+        JobResourceUsage.Sample usage = JobResourceUsage.start();
         try {
             exec(context, stopWatch);
+            execution.complete(this, context, null);
         } catch (Exception e) {
-            getLogger().error("Error while executing scheduled task [{}]. Cause: {}", getName(), e.getMessage(), e);
+            execution.complete(this, context, e);
         } finally {
+            execution.end(this);
+            if (execution.getToken().isCancellationRequested()) {
+                // Do not leak the watchdog's interrupt into the next job run by this worker thread
+                Thread.interrupted();
+            }
+            if (usage != null) {
+                getLogger().info("Scheduled task [{}] resource usage: {}.", getName(), usage.stop(getName()));
+            }
             stopWatch.stop(getLogger());
         }
     }
@@ -153,4 +281,16 @@ public interface JobAdapter extends Job {
      * @throws Exception any job execution errors
      */
     void exec(JobExecutionContext context, NamedStopWatch stopWatch) throws Exception;
+
+    /**
+     * A unit of work run by {@link #mapConcurrently(Collection, int, NamedStopWatch, Branch)}.
+     *
+     * @param <T> item type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    interface Branch<T, R> {
+
+        R apply(T item) throws Exception;
+    }
 }
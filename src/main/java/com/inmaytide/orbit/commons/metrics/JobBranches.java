@@ -0,0 +1,124 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import com.inmaytide.orbit.commons.utils.NamedStopWatch;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the branches of {@link JobAdapter#mapConcurrently} on virtual threads scoped to the calling run.
+ * <p>
+ * At most {@code parallelism} branches run at once. The first failing branch, or the cancellation of the run,
+ * stops new branches from starting and interrupts the running ones; the call returns only after every branch
+ * has finished, so no thread outlives it.
+ * </p>
+ *
+ * <p>
+ * Each branch is recorded as a task of the run's {@link NamedStopWatch}, reported with the run's duration, and each
+ * call logs a single summary with the number of branches, their total duration and the slowest ones, so runs fanning
+ * out to thousands of items do not log a line per branch.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+final class JobBranches {
+
+    private static final int SLOWEST_REPORTED = 3;
+
+    private JobBranches() {
+    }
+
+    static <T, R> List<R> map(JobAdapter job,
+                              Collection<? extends T> items,
+                              int parallelism,
+                              NamedStopWatch stopWatch,
+                              JobAdapter.Branch<? super T, ? extends R> branch) throws Exception {
+        List<T> inputs = new ArrayList<>(items);
+        Object[] results = new Object[inputs.size()];
+        long[] durations = new long[inputs.size()];
+        AtomicInteger finished = new AtomicInteger();
+        Logger log = job.getLogger();
+        long startedAt = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CancellationToken token = job.getCancellationToken();
+        ThreadFactory threads = Thread.ofVirtual().name(job.getName() + "#", 0).factory();
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(threads)) {
+            try {
+                for (int i = 0; i < inputs.size(); i++) {
+                    permits.acquire();
+                    if (failure.get() != null) {
+                        break;
+                    }
+                    token.throwIfCancellationRequested();
+                    int index = i;
+                    T item = inputs.get(i);
+                    executor.execute(() -> {
+                        long branchStartedAt = System.nanoTime();
+                        try {
+                            results[index] = branch.apply(item);
+                        } catch (Throwable e) {
+                            if (failure.compareAndSet(null, e)) {
+                                executor.shutdownNow();
+                            }
+                        } finally {
+                            durations[index] = System.nanoTime() - branchStartedAt;
+                            finished.incrementAndGet();
+                            stopWatch.recordTask(job.getName() + "#" + item, Duration.ofNanos(durations[index]));
+                            permits.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException | CancellationException e) {
+                failure.compareAndSet(null, e);
+                executor.shutdownNow();
+            } catch (RejectedExecutionException e) {
+                // A failing branch shut the executor down while the next one was being started
+            }
+        }
+        logSummary(log, job.getName(), inputs, durations, finished.get(), parallelism, System.nanoTime() - startedAt);
+
+        Throwable error = failure.get();
+        if (error instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        if (error == null) {
+            token.throwIfCancellationRequested();
+        } else if (error instanceof Exception e) {
+            throw e;
+        } else if (error instanceof Error e) {
+            throw e;
+        } else {
+            throw new ExecutionException(error);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> mapped = (List<R>) Arrays.asList(results);
+        return mapped;
+    }
+
+    private static void logSummary(Logger log, String jobName, List<?> inputs, long[] durations, int finished, int parallelism, long elapsed) {
+        if (inputs.isEmpty() || !log.isInfoEnabled()) {
+            return;
+        }
+        String slowest = IntStream.range(0, durations.length)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> durations[i]).reversed())
+                .limit(SLOWEST_REPORTED)
+                .filter(i -> durations[i] > 0)
+                .map(i -> inputs.get(i) + "=" + TimeUnit.NANOSECONDS.toMillis(durations[i]) + "ms")
+                .collect(Collectors.joining(", "));
+        log.info("Scheduled task [{}] ran {} of {} branch(es) with parallelism {} in {}ms, branch total {}ms, slowest [{}].",
+                jobName, finished, inputs.size(), Math.max(1, parallelism), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                TimeUnit.NANOSECONDS.toMillis(Arrays.stream(durations).sum()), slowest);
+    }
+}
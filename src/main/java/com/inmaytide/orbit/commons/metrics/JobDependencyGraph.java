@@ -0,0 +1,107 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import java.util.*;
+
+/**
+ * Directed acyclic graph of job dependencies, built from {@link JobParameter#getDependsOn()}.
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public class JobDependencyGraph {
+
+    private final Map<String, Set<String>> upstreams = new HashMap<>();
+
+    private final Map<String, Set<String>> downstreams = new HashMap<>();
+
+    /**
+     * Declares that {@code job} must run after every job in {@code dependsOn}.
+     *
+     * @param job       downstream job name
+     * @param dependsOn upstream job names
+     */
+    public void declare(String job, Collection<String> dependsOn) {
+        upstreams.computeIfAbsent(job, k -> new LinkedHashSet<>());
+        downstreams.computeIfAbsent(job, k -> new LinkedHashSet<>());
+        for (String upstream : dependsOn) {
+            upstreams.get(job).add(upstream);
+            downstreams.computeIfAbsent(upstream, k -> new LinkedHashSet<>()).add(job);
+            upstreams.computeIfAbsent(upstream, k -> new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Removes a job and every edge touching it.
+     *
+     * @param job job name
+     */
+    public void remove(String job) {
+        Optional.ofNullable(upstreams.remove(job)).orElse(Set.of()).forEach(u -> downstreams.getOrDefault(u, new HashSet<>()).remove(job));
+        Optional.ofNullable(downstreams.remove(job)).orElse(Set.of()).forEach(d -> upstreams.getOrDefault(d, new HashSet<>()).remove(job));
+    }
+
+    public Set<String> getUpstreams(String job) {
+        return Collections.unmodifiableSet(upstreams.getOrDefault(job, Set.of()));
+    }
+
+    public Set<String> getDownstreams(String job) {
+        return Collections.unmodifiableSet(downstreams.getOrDefault(job, Set.of()));
+    }
+
+    public boolean isEmpty() {
+        return downstreams.values().stream().allMatch(Set::isEmpty);
+    }
+
+    /**
+     * Finds every dependency cycle using Tarjan's strongly connected components algorithm.
+     *
+     * @return job names grouped by cycle, empty if the graph is acyclic
+     */
+    public List<Set<String>> findCycles() {
+        Tarjan tarjan = new Tarjan();
+        for (String job : upstreams.keySet()) {
+            if (!tarjan.index.containsKey(job)) {
+                tarjan.connect(job);
+            }
+        }
+        return tarjan.cycles;
+    }
+
+    private class Tarjan {
+
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Map<String, Integer> lowLink = new HashMap<>();
+        private final Deque<String> stack = new ArrayDeque<>();
+        private final Set<String> onStack = new HashSet<>();
+        private final List<Set<String>> cycles = new ArrayList<>();
+
+        private void connect(String job) {
+            index.put(job, index.size());
+            lowLink.put(job, index.get(job));
+            stack.push(job);
+            onStack.add(job);
+
+            for (String upstream : upstreams.getOrDefault(job, Set.of())) {
+                if (!index.containsKey(upstream)) {
+                    connect(upstream);
+                    lowLink.put(job, Math.min(lowLink.get(job), lowLink.get(upstream)));
+                } else if (onStack.contains(upstream)) {
+                    lowLink.put(job, Math.min(lowLink.get(job), index.get(upstream)));
+                }
+            }
+
+            if (lowLink.get(job).equals(index.get(job))) {
+                Set<String> component = new LinkedHashSet<>();
+                String member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(job));
+                if (component.size() > 1 || upstreams.getOrDefault(job, Set.of()).contains(job)) {
+                    cycles.add(component);
+                }
+            }
+        }
+    }
+}
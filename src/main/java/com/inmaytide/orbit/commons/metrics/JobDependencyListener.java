@@ -0,0 +1,98 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.listeners.JobListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Triggers downstream jobs as soon as all of their upstream jobs have completed successfully.
+ * <p>
+ * Downstream jobs are fired through {@link org.quartz.Scheduler#triggerJob(JobKey)}, so independent
+ * branches run in parallel on the scheduler thread pool. Upstream completions are tracked in memory on the
+ * node that executed them, which cannot tell when upstreams running on different nodes have all completed;
+ * {@link ScheduledTasksInitializer} therefore rejects jobs with several upstreams when the job store is clustered.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public class JobDependencyListener extends JobListenerSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobDependencyListener.class);
+
+    private final JobDependencyGraph graph;
+
+    private final String jobGroup;
+
+    private final Map<String, Instant> lastSucceeded = new HashMap<>();
+
+    private final Map<String, Instant> lastReleased = new HashMap<>();
+
+    public JobDependencyListener(JobDependencyGraph graph, String jobGroup) {
+        this.graph = graph;
+        this.jobGroup = jobGroup;
+    }
+
+    @Override
+    public String getName() {
+        return "metricsJobDependencyListener";
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        String upstream = context.getJobDetail().getKey().getName();
+        if (jobException != null) {
+            LOG.debug("Task [{}] did not complete successfully, downstream tasks are not released.", upstream);
+            return;
+        }
+        JobExecutionOutcome.whenKnown(context).thenAccept(outcome -> {
+            if (outcome.filter(JobExecutionOutcome.SUCCEEDED::equals).isEmpty()) {
+                LOG.debug("Task [{}] did not complete successfully, downstream tasks are not released.", upstream);
+                return;
+            }
+            releaseDownstreams(context, upstream);
+        });
+    }
+
+    private void releaseDownstreams(JobExecutionContext context, String upstream) {
+        for (String downstream : releaseReadyDownstreams(upstream)) {
+            try {
+                context.getScheduler().triggerJob(JobKey.jobKey(downstream, jobGroup));
+                LOG.info("Task [{}] triggered after its upstream tasks {} completed.", downstream, graph.getUpstreams(downstream));
+            } catch (SchedulerException e) {
+                LOG.error("Failed to trigger downstream task [{}] of [{}]. Cause: {}", downstream, upstream, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Records a successful run of {@code upstream} and returns the downstream jobs whose upstreams
+     * have all succeeded since they were last released.
+     */
+    private synchronized List<String> releaseReadyDownstreams(String upstream) {
+        Instant now = Instant.now();
+        lastSucceeded.put(upstream, now);
+        List<String> ready = new ArrayList<>();
+        for (String downstream : graph.getDownstreams(upstream)) {
+            Instant released = lastReleased.get(downstream);
+            boolean allSucceeded = graph.getUpstreams(downstream).stream()
+                    .map(lastSucceeded::get)
+                    .allMatch(succeeded -> succeeded != null && (released == null || succeeded.isAfter(released)));
+            if (allSucceeded) {
+                lastReleased.put(downstream, now);
+                ready.add(downstream);
+            }
+        }
+        return ready;
+    }
+}
@@ -0,0 +1,170 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.quartz.JobExecutionContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link JobAdapter} run in progress on this node, tracked from the start of
+ * {@link JobAdapter#execute} until it returns, or until the stage of an {@link AsyncJobAdapter} completes.
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public final class JobExecution {
+
+    private static final Map<JobAdapter, JobExecution> RUNNING = new ConcurrentHashMap<>();
+
+    private final String jobName;
+    private final String fireInstanceId;
+    private final Thread thread;
+    private final Instant startedAt = Instant.now();
+    private final Duration maxRuntime;
+    private final RetryPolicy retryPolicy;
+    private final CancellationToken token = new CancellationToken();
+    private Future<?> future;
+    private boolean finished;
+
+    private JobExecution(String jobName, String fireInstanceId, Thread thread, Duration maxRuntime, RetryPolicy retryPolicy) {
+        this.jobName = jobName;
+        this.fireInstanceId = fireInstanceId;
+        this.thread = thread;
+        this.maxRuntime = maxRuntime;
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Tracks a run holding the worker thread.
+     * The retry policy is resolved by the caller beforehand, so a failure can be retried without reading the job parameters.
+     */
+    static JobExecution begin(JobAdapter job, JobExecutionContext context, Duration maxRuntime, RetryPolicy retryPolicy) {
+        JobExecution execution = new JobExecution(job.getName(), context.getFireInstanceId(), Thread.currentThread(), maxRuntime, retryPolicy);
+        RUNNING.put(job, execution);
+        return execution;
+    }
+
+    /**
+     * Tracks a run that does not hold the worker thread; cancellation cancels the attached future instead.
+     */
+    static JobExecution beginDetached(JobAdapter job, JobExecutionContext context, Duration maxRuntime, RetryPolicy retryPolicy) {
+        JobExecution execution = new JobExecution(job.getName(), context.getFireInstanceId(), null, maxRuntime, retryPolicy);
+        RUNNING.put(job, execution);
+        return execution;
+    }
+
+    static Optional<JobExecution> of(JobAdapter job) {
+        return Optional.ofNullable(RUNNING.get(job));
+    }
+
+    /**
+     * Returns all executions currently running on this node.
+     *
+     * @return running executions
+     */
+    public static Collection<JobExecution> running() {
+        return Collections.unmodifiableCollection(RUNNING.values());
+    }
+
+    /**
+     * Marks the execution finished. Once finished, cancellation no longer interrupts the worker thread.
+     */
+    synchronized void end(JobAdapter job) {
+        finished = true;
+        RUNNING.remove(job, this);
+    }
+
+    /**
+     * Attaches the future completing a detached run, cancelling it right away if cancellation was already requested.
+     */
+    synchronized void attach(Future<?> future) {
+        this.future = future;
+        if (token.isCancellationRequested()) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Records the outcome of the run, logging failures and scheduling a retry or recovery run as configured.
+     * A run is cancelled once cancellation was requested, even if it returned normally: jobs polling the token
+     * return early, so their work is partial and must neither release downstream jobs nor be lost on shutdown.
+     *
+     * @param error the exception thrown by the run, or null if it returned normally
+     * @return recorded outcome
+     */
+    JobExecutionOutcome complete(JobAdapter job, JobExecutionContext context, Exception error) {
+        JobExecutionOutcome outcome;
+        if (token.isCancellationRequested()) {
+            outcome = JobExecutionOutcome.CANCELLED;
+            if (error == null) {
+                job.getLogger().warn("Scheduled task [{}] was cancelled ({}) and stopped early.", jobName, token.getReason());
+            } else {
+                job.getLogger().warn("Scheduled task [{}] was cancelled ({}). Cause: {}", jobName, token.getReason(), error.getMessage());
+            }
+            if (token.getReason() == CancellationToken.Reason.SHUTDOWN) {
+                RetryTriggers.scheduleRecovery(job, context);
+            }
+        } else if (error == null) {
+            outcome = JobExecutionOutcome.SUCCEEDED;
+        } else {
+            outcome = JobExecutionOutcome.FAILED;
+            job.getLogger().error("Error while executing scheduled task [{}]. Cause: {}", jobName, error.getMessage(), error);
+            RetryTriggers.scheduleIfRetryable(job, context, retryPolicy, error);
+        }
+        outcome.record(context);
+        return outcome;
+    }
+
+    /**
+     * Requests cancellation and interrupts the worker thread if the execution is still running.
+     *
+     * @param reason why the execution is cancelled
+     * @return true if this call requested cancellation
+     */
+    synchronized boolean cancel(CancellationToken.Reason reason) {
+        if (finished || !token.cancel(reason)) {
+            return false;
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (future != null) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+    public boolean isOverrun(Instant now) {
+        return maxRuntime != null && getRuntime(now).compareTo(maxRuntime) > 0;
+    }
+
+    public Duration getRuntime(Instant now) {
+        return Duration.between(startedAt, now);
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public String getFireInstanceId() {
+        return fireInstanceId;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Duration getMaxRuntime() {
+        return maxRuntime;
+    }
+
+    public CancellationToken getToken() {
+        return token;
+    }
+}
@@ -0,0 +1,80 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.quartz.JobExecutionContext;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Outcome of a {@link JobAdapter} run, recorded on the {@link JobExecutionContext}
+ * so that job listeners can tell a successful run from a swallowed failure.
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public enum JobExecutionOutcome {
+
+    /**
+     * The job was deactivated and {@link JobAdapter#exec} was not invoked.
+     */
+    SKIPPED,
+
+    /**
+     * {@link JobAdapter#exec} returned normally, without cancellation being requested.
+     */
+    SUCCEEDED,
+
+    /**
+     * {@link JobAdapter#exec} threw an exception.
+     */
+    FAILED,
+
+    /**
+     * {@link JobAdapter#exec} returned or threw after cancellation was requested.
+     */
+    CANCELLED;
+
+    private static final String CONTEXT_KEY = JobExecutionOutcome.class.getName();
+
+    private static final String PENDING_CONTEXT_KEY = CONTEXT_KEY + ".pending";
+
+    void record(JobExecutionContext context) {
+        context.put(CONTEXT_KEY, this);
+    }
+
+    /**
+     * Marks the outcome of the given execution as known only once {@code outcome} completes.
+     */
+    static void pending(JobExecutionContext context, CompletionStage<JobExecutionOutcome> outcome) {
+        context.put(PENDING_CONTEXT_KEY, outcome);
+    }
+
+    /**
+     * Reads the outcome of the given execution once it is known.
+     * Runs of an {@link AsyncJobAdapter} are still in progress when Quartz reports the job executed;
+     * their outcome completes with their stage.
+     *
+     * @param context Quartz job context
+     * @return stage completing with the recorded outcome, empty if the job is not a {@link JobAdapter}
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletionStage<Optional<JobExecutionOutcome>> whenKnown(JobExecutionContext context) {
+        if (context.get(PENDING_CONTEXT_KEY) instanceof CompletionStage<?> pending) {
+            return ((CompletionStage<JobExecutionOutcome>) pending).thenApply(Optional::ofNullable);
+        }
+        return CompletableFuture.completedFuture(of(context));
+    }
+
+    /**
+     * Reads the outcome recorded for the given execution.
+     *
+     * @param context Quartz job context
+     * @return recorded outcome, empty if the job is not a {@link JobAdapter}
+     */
+    public static Optional<JobExecutionOutcome> of(JobExecutionContext context) {
+        return Optional.ofNullable(context.get(CONTEXT_KEY))
+                .filter(JobExecutionOutcome.class::isInstance)
+                .map(JobExecutionOutcome.class::cast);
+    }
+}
@@ -0,0 +1,62 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks the running job executions and cancels those exceeding their max runtime.
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+@Component
+public class JobExecutionWatchdog implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobExecutionWatchdog.class);
+
+    private static final long CHECK_INTERVAL_SECONDS = 5;
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "orbit-metrics-job-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void check() {
+        try {
+            Instant now = Instant.now();
+            for (JobExecution execution : JobExecution.running()) {
+                if (execution.isOverrun(now) && execution.cancel(CancellationToken.Reason.TIMEOUT)) {
+                    LOG.warn("Task [{}] has been running for {}s, exceeding its max runtime of {}s. Cancelling execution [{}].",
+                            execution.getJobName(),
+                            execution.getRuntime(now).toSeconds(),
+                            execution.getMaxRuntime().toSeconds(),
+                            execution.getFireInstanceId());
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Job execution watchdog check failed. Cause: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
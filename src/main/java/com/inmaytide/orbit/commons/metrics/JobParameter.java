@@ -4,12 +4,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inmaytide.orbit.Version;
 import org.apache.commons.lang3.StringUtils;
+import org.quartz.Trigger;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -51,6 +57,38 @@ public class JobParameter implements Serializable {
      */
     private boolean reinitializeIfExistsOnServiceStartup;
 
+    /**
+     * Names of the jobs that must complete before this one is triggered (from {@code others.dependsOn})
+     */
+    private List<String> dependsOn = List.of();
+
+    /**
+     * Retry policy applied when the job fails (from {@code others.retry})
+     */
+    private RetryPolicy retryPolicy = RetryPolicy.none();
+
+    /**
+     * Maximum runtime of a single execution before it is cancelled (from {@code others.maxRuntimeSeconds}).
+     * Unlimited if null.
+     */
+    private Duration maxRuntime;
+
+    /**
+     * Relative cost of a single execution, weighed against the node capacity in clustered mode
+     * (from {@code others.cost})
+     */
+    private int cost = 1;
+
+    /**
+     * Trigger priority; higher values fire first when triggers compete for threads (from {@code others.priority})
+     */
+    private int priority = Trigger.DEFAULT_PRIORITY;
+
+    /**
+     * Maximum number of runs of an asynchronous job in progress at once on a node (from {@code others.maxConcurrency})
+     */
+    private int maxConcurrency = 1;
+
     /**
      * Additional parameters for job logic
      */
@@ -123,6 +161,54 @@ public class JobParameter implements Serializable {
         this.reinitializeIfExistsOnServiceStartup = reinitializeIfExistsOnServiceStartup;
     }
 
+    public List<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = dependsOn == null ? List.of() : List.copyOf(dependsOn);
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy == null ? RetryPolicy.none() : retryPolicy;
+    }
+
+    public Duration getMaxRuntime() {
+        return maxRuntime;
+    }
+
+    public void setMaxRuntime(Duration maxRuntime) {
+        this.maxRuntime = maxRuntime;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public void setCost(int cost) {
+        this.cost = cost;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
     public JsonNode getOthers() {
         return others;
     }
@@ -143,6 +229,12 @@ public class JobParameter implements Serializable {
         private BigDecimal fixedTime;
         private boolean fireOnceOnServiceStartup = false;
         private boolean reinitializeIfExistsOnServiceStartup = false;
+        private final Collection<String> dependsOn = new LinkedHashSet<>();
+        private RetryPolicy retryPolicy;
+        private Duration maxRuntime;
+        private Integer cost;
+        private Integer priority;
+        private Integer maxConcurrency;
         private final Map<String, Object> others = new HashMap<>();
 
         private static final ObjectMapper MAPPER = new ObjectMapper();
@@ -187,6 +279,40 @@ public class JobParameter implements Serializable {
             return this;
         }
 
+        public Builder dependsOn(String... names) {
+            for (String name : names) {
+                if (StringUtils.isNotBlank(name)) {
+                    this.dependsOn.add(name.trim());
+                }
+            }
+            return this;
+        }
+
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public Builder maxRuntime(Duration maxRuntime) {
+            this.maxRuntime = maxRuntime;
+            return this;
+        }
+
+        public Builder cost(int cost) {
+            this.cost = cost;
+            return this;
+        }
+
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
         public Builder other(String key, Object value) {
             this.others.put(key, value);
             return this;
@@ -210,8 +336,9 @@ public class JobParameter implements Serializable {
             if (StringUtils.isBlank(name)) {
                 throw new IllegalArgumentException("JobParameter 'name' must not be blank.");
             }
-            if (StringUtils.isBlank(cronExpression) && (fixedTime == null || fixedTime.doubleValue() <= 0)) {
-                throw new IllegalArgumentException("Either 'cronExpression' or a valid 'fixedTime' must be provided.");
+            List<String> upstreams = resolveDependsOn();
+            if (StringUtils.isBlank(cronExpression) && (fixedTime == null || fixedTime.doubleValue() <= 0) && upstreams.isEmpty()) {
+                throw new IllegalArgumentException("Either 'cronExpression', a valid 'fixedTime' or 'dependsOn' must be provided.");
             }
 
             JobParameter param = new JobParameter(name);
@@ -220,9 +347,90 @@ public class JobParameter implements Serializable {
             param.setFixedTime(fixedTime);
             param.setFireOnceOnServiceStartup(fireOnceOnServiceStartup);
             param.setReinitializeIfExistsOnServiceStartup(reinitializeIfExistsOnServiceStartup);
+            param.setDependsOn(upstreams);
+            param.setRetryPolicy(resolveRetryPolicy());
+            param.setMaxRuntime(resolveMaxRuntime());
+            param.setCost(resolveCost());
+            param.setPriority(resolvePriority());
+            param.setMaxConcurrency(resolveMaxConcurrency());
             param.setOthers(MAPPER.valueToTree(this.others));
             return param;
         }
+
+        private RetryPolicy resolveRetryPolicy() {
+            if (retryPolicy != null || others.get("retry") == null) {
+                return retryPolicy;
+            }
+            try {
+                return MAPPER.convertValue(others.get("retry"), RetryPolicy.class);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Failed to parse 'others.retry' to a retry policy", e);
+            }
+        }
+
+        private Duration resolveMaxRuntime() {
+            if (maxRuntime != null || others.get("maxRuntimeSeconds") == null) {
+                return maxRuntime;
+            }
+            try {
+                long seconds = new BigDecimal(others.get("maxRuntimeSeconds").toString()).longValueExact();
+                return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new IllegalArgumentException("'others.maxRuntimeSeconds' must be a whole number of seconds", e);
+            }
+        }
+
+        private int resolveCost() {
+            if (cost != null || others.get("cost") == null) {
+                return cost == null ? 1 : Math.max(1, cost);
+            }
+            try {
+                return Math.max(1, new BigDecimal(others.get("cost").toString()).intValueExact());
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new IllegalArgumentException("'others.cost' must be a whole number", e);
+            }
+        }
+
+        private int resolvePriority() {
+            if (priority != null || others.get("priority") == null) {
+                return priority == null ? Trigger.DEFAULT_PRIORITY : priority;
+            }
+            try {
+                return new BigDecimal(others.get("priority").toString()).intValueExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new IllegalArgumentException("'others.priority' must be a whole number", e);
+            }
+        }
+
+        private int resolveMaxConcurrency() {
+            if (maxConcurrency != null || others.get("maxConcurrency") == null) {
+                return maxConcurrency == null ? 1 : Math.max(1, maxConcurrency);
+            }
+            try {
+                return Math.max(1, new BigDecimal(others.get("maxConcurrency").toString()).intValueExact());
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new IllegalArgumentException("'others.maxConcurrency' must be a whole number", e);
+            }
+        }
+
+        /**
+         * Merges explicitly declared upstream jobs with {@code others.dependsOn},
+         * which may be a JSON array or a comma-separated string.
+         */
+        private List<String> resolveDependsOn() {
+            Collection<String> names = new LinkedHashSet<>(dependsOn);
+            Object declared = others.get("dependsOn");
+            if (declared instanceof Collection<?> values) {
+                values.stream().filter(v -> v != null && StringUtils.isNotBlank(v.toString())).forEach(v -> names.add(v.toString().trim()));
+            } else if (declared instanceof String value) {
+                for (String name : StringUtils.split(value, ',')) {
+                    if (StringUtils.isNotBlank(name)) {
+                        names.add(name.trim());
+                    }
+                }
+            }
+            return new ArrayList<>(names);
+        }
     }
 
 }
@@ -1,5 +1,7 @@
 package com.inmaytide.orbit.commons.metrics;
 
+import java.util.Optional;
+
 /**
  * @author inmaytide
  * @since 2024/8/29
@@ -8,4 +10,20 @@ public interface JobParametersHolder {
 
     JobParameter get(String name);
 
+    /**
+     * Returns the parameters of the given job only if they are available without I/O, possibly stale.
+     * Used on the scheduler thread, where a blocking lookup would stall trigger acquisition;
+     * holders whose {@link #get(String)} may block should override it.
+     *
+     * @param name job name
+     * @return parameters already at hand, empty otherwise
+     */
+    default Optional<JobParameter> getIfAvailable(String name) {
+        try {
+            return Optional.ofNullable(get(name));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
 }
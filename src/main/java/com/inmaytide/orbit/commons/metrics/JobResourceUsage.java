@@ -0,0 +1,167 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CPU time and allocated bytes of {@link JobAdapter} runs, measured on the worker thread through {@link ThreadMXBean}.
+ * <p>
+ * Reading the counters of the current thread costs well under a microsecond, so accounting can stay enabled in
+ * production. Measurements are per thread: work handed to other threads, including the stages of an
+ * {@link AsyncJobAdapter}, is not accounted. Cumulative totals are kept per job name for the lifetime of the node.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public final class JobResourceUsage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobResourceUsage.class);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final Map<String, Totals> TOTALS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private static volatile boolean allocationSupported;
+
+    private JobResourceUsage() {
+    }
+
+    /**
+     * Enables or disables accounting, turning on thread CPU time and allocation measurement of the JVM if needed.
+     */
+    public static synchronized void setEnabled(boolean enable) {
+        if (enable && !THREADS.isCurrentThreadCpuTimeSupported()) {
+            LOG.warn("Thread CPU time is not supported by this JVM, job resource accounting is disabled.");
+            enable = false;
+        }
+        if (enable) {
+            if (!THREADS.isThreadCpuTimeEnabled()) {
+                THREADS.setThreadCpuTimeEnabled(true);
+            }
+            if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+                if (!threads.isThreadAllocatedMemoryEnabled()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                }
+                allocationSupported = true;
+            }
+        }
+        enabled = enable;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts measuring the current thread.
+     *
+     * @return sample to pass to {@link Sample#stop(String)} on the same thread, or null if accounting is disabled
+     */
+    static Sample start() {
+        if (!enabled) {
+            return null;
+        }
+        long cpu = THREADS.getCurrentThreadCpuTime();
+        return cpu < 0 ? null : new Sample(cpu, currentThreadAllocatedBytes());
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return allocationSupported ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Returns the cumulative usage of every job run on this node since startup, ordered by job name.
+     *
+     * @return usage totals by job name
+     */
+    public static Map<String, Usage> snapshot() {
+        Map<String, Usage> snapshot = new TreeMap<>();
+        TOTALS.forEach((name, totals) -> snapshot.put(name, totals.toUsage()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns the cumulative usage of the given job on this node since startup.
+     *
+     * @param jobName job name
+     * @return usage totals, zero if the job has not run
+     */
+    public static Usage of(String jobName) {
+        Totals totals = TOTALS.get(jobName);
+        return totals == null ? new Usage(0, 0, 0) : totals.toUsage();
+    }
+
+    /**
+     * Counters of the current thread at the start of a run.
+     */
+    record Sample(long cpuNanos, long allocatedBytes) {
+
+        /**
+         * Stops measuring and adds the usage of the run to the totals of the job.
+         *
+         * @return usage of the run
+         */
+        Usage stop(String jobName) {
+            long cpu = Math.max(0, THREADS.getCurrentThreadCpuTime() - cpuNanos);
+            long allocated = allocatedBytes < 0 ? 0 : Math.max(0, currentThreadAllocatedBytes() - allocatedBytes);
+            TOTALS.computeIfAbsent(jobName, name -> new Totals()).add(cpu, allocated);
+            return new Usage(1, cpu, allocated);
+        }
+    }
+
+    /**
+     * CPU time and allocated bytes of one or more runs.
+     *
+     * @param runs           number of runs
+     * @param cpuNanos       thread CPU time, in nanoseconds
+     * @param allocatedBytes bytes allocated by the worker thread, 0 if the JVM does not measure allocations
+     */
+    public record Usage(long runs, long cpuNanos, long allocatedBytes) {
+
+        public long getCpuMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(cpuNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("cpu=%dms allocated=%s", getCpuMillis(), formatBytes(allocatedBytes));
+        }
+
+        private static String formatBytes(long bytes) {
+            if (bytes < 1024) {
+                return bytes + "B";
+            }
+            int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+            return String.format("%.1f%sB", bytes / (double) (1L << (unit * 10)), " KMGTPE".charAt(unit));
+        }
+    }
+
+    private static final class Totals {
+
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private void add(long cpu, long allocated) {
+            runs.increment();
+            cpuNanos.add(cpu);
+            allocatedBytes.add(allocated);
+        }
+
+        private Usage toUsage() {
+            return new Usage(runs.sum(), cpuNanos.sum(), allocatedBytes.sum());
+        }
+    }
+}
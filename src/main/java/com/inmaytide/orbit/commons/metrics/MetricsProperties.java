@@ -5,6 +5,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -17,7 +20,19 @@ import java.util.Objects;
  * metrics:
  *   scheduler-instance-name: myScheduler
  *   persist: true
+ *   job-store: timing-wheel
  *   job-packages: com.example.jobs
+ *   node-capacity: 8
+ *   resource-accounting: true
+ *   startup-firing:
+ *     await-application-ready: true
+ *     batch-size: 2
+ *     interval: 5s
+ *   quartz:
+ *     org.quartz.threadPool.threadCount: 40
+ *   shutdown:
+ *     drain-timeout: 30s
+ *     checkpoint-timeout: 10s
  *   data-source:
  *     driver: com.mysql.cj.jdbc.Driver
  *     url: jdbc:mysql://localhost:3306/demo
@@ -49,11 +64,42 @@ public class MetricsProperties {
      */
     private DataSource dataSource = new DataSource();
 
+    /**
+     * In-memory job store used when {@link #persist} is disabled.
+     */
+    private JobStore jobStore = JobStore.RAM;
+
     /**
      * Packages to scan for job classes.
      */
     private String jobPackages;
 
+    /**
+     * Load budget of this node in clustered mode, weighed against the cost of each job.
+     * Acquisition is not limited if not set.
+     */
+    private Integer nodeCapacity;
+
+    /**
+     * Whether to measure the CPU time and allocated bytes of each job run.
+     */
+    private boolean resourceAccounting;
+
+    /**
+     * Ramp applied to jobs configured to fire once on service startup.
+     */
+    private StartupFiring startupFiring = new StartupFiring();
+
+    /**
+     * Graceful drain applied when the scheduler shuts down.
+     */
+    private Shutdown shutdown = new Shutdown();
+
+    /**
+     * Raw Quartz properties overriding those from {@code quartz.properties}, applied last.
+     */
+    private Map<String, String> quartz = new HashMap<>();
+
     public String getSchedulerInstanceName() {
         return StringUtils.defaultIfBlank(
                 schedulerInstanceName,
@@ -81,6 +127,14 @@ public class MetricsProperties {
         this.dataSource = dataSource;
     }
 
+    public JobStore getJobStore() {
+        return Objects.requireNonNullElse(jobStore, JobStore.RAM);
+    }
+
+    public void setJobStore(JobStore jobStore) {
+        this.jobStore = jobStore;
+    }
+
     public String getJobPackages() {
         return jobPackages;
     }
@@ -89,6 +143,62 @@ public class MetricsProperties {
         this.jobPackages = jobPackages;
     }
 
+    public Integer getNodeCapacity() {
+        return nodeCapacity;
+    }
+
+    public void setNodeCapacity(Integer nodeCapacity) {
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    public boolean isResourceAccounting() {
+        return resourceAccounting;
+    }
+
+    public void setResourceAccounting(boolean resourceAccounting) {
+        this.resourceAccounting = resourceAccounting;
+    }
+
+    public StartupFiring getStartupFiring() {
+        return Objects.requireNonNullElseGet(startupFiring, StartupFiring::new);
+    }
+
+    public void setStartupFiring(StartupFiring startupFiring) {
+        this.startupFiring = startupFiring;
+    }
+
+    public Shutdown getShutdown() {
+        return Objects.requireNonNullElseGet(shutdown, Shutdown::new);
+    }
+
+    public void setShutdown(Shutdown shutdown) {
+        this.shutdown = shutdown;
+    }
+
+    public Map<String, String> getQuartz() {
+        return Objects.requireNonNullElseGet(quartz, HashMap::new);
+    }
+
+    public void setQuartz(Map<String, String> quartz) {
+        this.quartz = quartz;
+    }
+
+    /**
+     * In-memory job store implementations.
+     */
+    public enum JobStore {
+
+        /**
+         * Quartz {@link org.quartz.simpl.RAMJobStore}, keeping triggers behind a single lock.
+         */
+        RAM,
+
+        /**
+         * {@link TimingWheelJobStore}, suited to large numbers of short-interval triggers.
+         */
+        TIMING_WHEEL
+    }
+
     /**
      * Nested class representing datasource configuration for scheduler persistence.
      */
@@ -147,4 +257,83 @@ public class MetricsProperties {
             this.maxConnections = maxConnections;
         }
     }
+
+    /**
+     * Nested class controlling how fire-once-on-startup jobs are released.
+     * Jobs are released in batches, highest priority first.
+     */
+    public static class StartupFiring {
+
+        /**
+         * Whether to wait for the application to be ready before releasing the first batch.
+         * Otherwise the first batch is released once the context is refreshed and the scheduler is running.
+         */
+        private boolean awaitApplicationReady = false;
+
+        /**
+         * Number of jobs released together.
+         */
+        private int batchSize = 2;
+
+        /**
+         * Delay between two batches. Zero releases every job at once.
+         */
+        private Duration interval = Duration.ofSeconds(2);
+
+        public boolean isAwaitApplicationReady() {
+            return awaitApplicationReady;
+        }
+
+        public void setAwaitApplicationReady(boolean awaitApplicationReady) {
+            this.awaitApplicationReady = awaitApplicationReady;
+        }
+
+        public int getBatchSize() {
+            return Math.max(1, batchSize);
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getInterval() {
+            return Objects.requireNonNullElse(interval, Duration.ZERO);
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+    }
+
+    /**
+     * Nested class controlling how running jobs are drained on shutdown.
+     */
+    public static class Shutdown {
+
+        /**
+         * How long running jobs may take to complete after acquisition stops.
+         */
+        private Duration drainTimeout = Duration.ofSeconds(30);
+
+        /**
+         * How long cancelled jobs may take to checkpoint and stop.
+         */
+        private Duration checkpointTimeout = Duration.ofSeconds(10);
+
+        public Duration getDrainTimeout() {
+            return Objects.requireNonNullElse(drainTimeout, Duration.ZERO);
+        }
+
+        public void setDrainTimeout(Duration drainTimeout) {
+            this.drainTimeout = drainTimeout;
+        }
+
+        public Duration getCheckpointTimeout() {
+            return Objects.requireNonNullElse(checkpointTimeout, Duration.ZERO);
+        }
+
+        public void setCheckpointTimeout(Duration checkpointTimeout) {
+            this.checkpointTimeout = checkpointTimeout;
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local load accounting used by {@link CapacityAwareJobStoreTX}.
+ * <p>
+ * Every acquired trigger reserves the cost of its job until the execution completes or the
+ * trigger is released. The current figures can be read at any time for debugging.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public final class NodeLoad {
+
+    private static final Map<String, Reservation> RESERVATIONS = new ConcurrentHashMap<>();
+
+    private static volatile int capacity;
+
+    private static int load;
+
+    private NodeLoad() {
+    }
+
+    static void setCapacity(int capacity) {
+        NodeLoad.capacity = capacity;
+    }
+
+    /**
+     * Returns the load budget of this node; zero or less means unlimited.
+     *
+     * @return node capacity
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the sum of the costs of the triggers currently acquired or executing on this node.
+     *
+     * @return current load
+     */
+    public static synchronized int getLoad() {
+        return load;
+    }
+
+    /**
+     * Returns the reservations currently held, keyed by fire instance id.
+     *
+     * @return reservations snapshot
+     */
+    public static Map<String, Reservation> getReservations() {
+        return Collections.unmodifiableMap(Map.copyOf(RESERVATIONS));
+    }
+
+    /**
+     * Reserves {@code cost} for the given fired trigger if it fits the budget.
+     * A node without any load always accepts, so a job costlier than the whole budget still runs.
+     */
+    static synchronized boolean tryReserve(String fireInstanceId, String jobName, int cost) {
+        if (capacity > 0 && load > 0 && load + cost > capacity) {
+            return false;
+        }
+        if (RESERVATIONS.putIfAbsent(fireInstanceId, new Reservation(jobName, cost)) == null) {
+            load += cost;
+        }
+        return true;
+    }
+
+    static synchronized boolean isSaturated() {
+        return capacity > 0 && load >= capacity;
+    }
+
+    /**
+     * Releases the reservation of the given fired trigger.
+     *
+     * @return true if a reservation was released
+     */
+    static synchronized boolean release(String fireInstanceId) {
+        if (fireInstanceId == null) {
+            return false;
+        }
+        Reservation reservation = RESERVATIONS.remove(fireInstanceId);
+        if (reservation == null) {
+            return false;
+        }
+        load -= reservation.cost();
+        return true;
+    }
+
+    public record Reservation(String jobName, int cost) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.inmaytide.orbit.Version;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy for failed job executions, configured through {@code others.retry}.
+ *
+ * <pre>{@code
+ * {
+ *   "retry": {
+ *     "maxAttempts": 3,
+ *     "backoffSeconds": 30,
+ *     "multiplier": 2,
+ *     "maxBackoffSeconds": 600,
+ *     "jitter": 0.2,
+ *     "retryOn": ["java.io.IOException", "java.sql.SQLTransientException"]
+ *   }
+ * }
+ * }</pre>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RetryPolicy implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = Version.SERIAL_VERSION_UID;
+
+    /**
+     * Maximum number of retries after the initial run. Zero disables retrying.
+     */
+    private int maxAttempts = 0;
+
+    /**
+     * Delay (in seconds) before the first retry
+     */
+    private long backoffSeconds = 30;
+
+    /**
+     * Factor applied to the delay after each retry
+     */
+    private double multiplier = 2;
+
+    /**
+     * Upper bound (in seconds) of the delay between retries
+     */
+    private long maxBackoffSeconds = 30 * 60;
+
+    /**
+     * Random spread applied to each delay, as a fraction of it (0 to 1)
+     */
+    private double jitter = 0.1;
+
+    /**
+     * Fully qualified names of the exception types to retry on, including subclasses.
+     * Every exception is retried if empty.
+     */
+    private List<String> retryOn = List.of();
+
+    public static RetryPolicy none() {
+        return new RetryPolicy();
+    }
+
+    public boolean isEnabled() {
+        return maxAttempts > 0;
+    }
+
+    /**
+     * Checks whether the given failure should be retried, matching the exception
+     * class hierarchy against {@link #getRetryOn()} by name.
+     *
+     * @param cause failure thrown by the job
+     * @return true if the failure is retryable
+     */
+    public boolean isRetryable(Throwable cause) {
+        if (retryOn.isEmpty()) {
+            return true;
+        }
+        for (Class<?> type = cause.getClass(); type != null; type = type.getSuperclass()) {
+            if (retryOn.contains(type.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the delay before the given retry attempt.
+     *
+     * @param attempt retry attempt, starting at 1
+     * @return delay with exponential backoff and jitter applied
+     */
+    public Duration delayBefore(int attempt) {
+        double delay = Math.min(backoffSeconds * Math.pow(multiplier, attempt - 1), maxBackoffSeconds);
+        if (jitter > 0) {
+            delay *= 1 + Math.min(jitter, 1) * ThreadLocalRandom.current().nextDouble(-1, 1);
+        }
+        return Duration.ofMillis(Math.max(0, Math.round(delay * 1000)));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getBackoffSeconds() {
+        return backoffSeconds;
+    }
+
+    public void setBackoffSeconds(long backoffSeconds) {
+        this.backoffSeconds = backoffSeconds;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public long getMaxBackoffSeconds() {
+        return maxBackoffSeconds;
+    }
+
+    public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+        this.maxBackoffSeconds = maxBackoffSeconds;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    public List<String> getRetryOn() {
+        return retryOn;
+    }
+
+    public void setRetryOn(List<String> retryOn) {
+        this.retryOn = retryOn == null ? List.of() : List.copyOf(retryOn);
+    }
+}
@@ -0,0 +1,103 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Schedules one-shot retry triggers for failed job executions.
+ * <p>
+ * Waiting for a retry does not hold a worker thread: the failed run returns immediately and
+ * the retry is fired by a trigger in {@value #RETRY_TRIGGER_GROUP} carrying the attempt number.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+final class RetryTriggers {
+
+    static final String RETRY_TRIGGER_GROUP = "metrics_retry_triggers_group";
+
+    static final String RECOVERY_TRIGGER_GROUP = "metrics_recovery_triggers_group";
+
+    static final String ATTEMPT_KEY = "metrics.retry.attempt";
+
+    private RetryTriggers() {
+    }
+
+    /**
+     * Returns the retry attempt of the current execution.
+     *
+     * @param context Quartz job context
+     * @return 0 for a regular firing, otherwise the retry attempt starting at 1
+     */
+    static int getAttempt(JobExecutionContext context) {
+        return context.getTrigger().getJobDataMap().containsKey(ATTEMPT_KEY)
+                ? context.getTrigger().getJobDataMap().getInt(ATTEMPT_KEY)
+                : 0;
+    }
+
+    /**
+     * Schedules the next retry of a failed execution if the job's retry policy allows it.
+     * The policy is resolved before the run, as reading the job parameters may fail for the same reason the run did.
+     *
+     * @param job     failed job
+     * @param context Quartz job context of the failed execution
+     * @param policy  retry policy of the job, resolved when the run started
+     * @param cause   failure thrown by the job
+     */
+    static void scheduleIfRetryable(JobAdapter job, JobExecutionContext context, RetryPolicy policy, Exception cause) {
+        if (!policy.isEnabled() || !policy.isRetryable(cause)) {
+            return;
+        }
+        int attempt = getAttempt(context) + 1;
+        if (attempt > policy.getMaxAttempts()) {
+            job.getLogger().error("Scheduled task [{}] failed after {} retry attempt(s), giving up until its next regular firing.", job.getName(), policy.getMaxAttempts());
+            return;
+        }
+
+        Duration delay = policy.delayBefore(attempt);
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(job.getName() + "#retry-" + attempt + "-" + System.currentTimeMillis(), RETRY_TRIGGER_GROUP)
+                .forJob(context.getJobDetail().getKey())
+                .usingJobData(ATTEMPT_KEY, attempt)
+                .startAt(Date.from(Instant.now().plus(delay)))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+        try {
+            context.getScheduler().scheduleJob(trigger);
+            job.getLogger().warn("Scheduled task [{}] will be retried in {} ms (attempt {}/{}).", job.getName(), delay.toMillis(), attempt, policy.getMaxAttempts());
+        } catch (SchedulerException e) {
+            job.getLogger().error("Failed to schedule retry of task [{}]. Cause: {}", job.getName(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-submits an execution stopped by a shutdown, keeping its retry attempt.
+     * The trigger fires immediately on whichever node acquires it first.
+     *
+     * @param job     stopped job
+     * @param context Quartz job context of the stopped execution
+     */
+    static void scheduleRecovery(JobAdapter job, JobExecutionContext context) {
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(job.getName() + "#recovery-" + System.currentTimeMillis(), RECOVERY_TRIGGER_GROUP)
+                .forJob(context.getJobDetail().getKey())
+                .usingJobData(ATTEMPT_KEY, getAttempt(context))
+                .startNow()
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+        try {
+            context.getScheduler().scheduleJob(trigger);
+            job.getLogger().info("Scheduled task [{}] stopped for shutdown and was released for recovery.", job.getName());
+        } catch (SchedulerException e) {
+            job.getLogger().error("Failed to release task [{}] for recovery. Cause: {}", job.getName(), e.getMessage(), e);
+        }
+    }
+}
@@ -4,91 +4,234 @@ import com.inmaytide.orbit.commons.utils.CommonUtils;
 import com.inmaytide.orbit.commons.utils.ReflectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.*;
 
 /**
  * Initializes and registers all scheduled jobs automatically after Spring Boot starts,
  * based on the configured job packages.
  *
- * <p>It supports automatic deletion/reinitialization and immediate fire behavior.</p>
+ * <p>It supports automatic deletion/reinitialization and immediate fire behavior.
+ * Jobs declaring {@code dependsOn} are wired into a dependency graph, checked for cycles, and
+ * triggered by {@link JobDependencyListener} once their upstream jobs complete. Jobs firing once on
+ * startup are released gradually according to {@link MetricsProperties.StartupFiring}.</p>
  *
  * @author inmaytide
  * @since 2023/5/30
  */
 @Component
 @DependsOn({"applicationContextHolder", "jobParametersHolder"})
-public class ScheduledTasksInitializer implements InitializingBean {
+public class ScheduledTasksInitializer implements InitializingBean, ApplicationContextAware, ApplicationListener<ContextRefreshedEvent> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ScheduledTasksInitializer.class);
 
-    private static final String JOB_GROUP = "metrics_jobs_group";
-    private static final String TRIGGER_GROUP = "metrics_triggers_group";
+    static final String JOB_GROUP = "metrics_jobs_group";
+    static final String TRIGGER_GROUP = "metrics_triggers_group";
+    static final String STARTUP_TRIGGER_GROUP = "metrics_startup_triggers_group";
 
     private final Scheduler scheduler;
     private final String scanPackages;
+    private final MetricsProperties.StartupFiring startupFiring;
+    private final List<JobAdapter> pendingStartupFirings = new ArrayList<>();
+    private ApplicationContext applicationContext;
 
     public ScheduledTasksInitializer(@Qualifier("scheduler") Scheduler scheduler, MetricsProperties env) {
         this.scheduler = scheduler;
         this.scanPackages = env.getJobPackages();
+        this.startupFiring = env.getStartupFiring();
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        for (Class<?> jobClass : getJobClasses()) {
-            createScheduledTask(jobClass);
+        List<JobAdapter> jobs = getJobs();
+        JobDependencyGraph graph = createDependencyGraph(jobs);
+        Set<String> rejected = new HashSet<>();
+        for (Set<String> cycle : graph.findCycles()) {
+            LOG.error("Dependency cycle detected among tasks {}. These tasks will not be initialized.", cycle);
+            rejected.addAll(cycle);
+        }
+        if (scheduler.getMetaData().isJobStoreClustered()) {
+            for (JobAdapter job : jobs) {
+                Set<String> upstreams = graph.getUpstreams(job.getName());
+                if (upstreams.size() > 1 && !rejected.contains(job.getName())) {
+                    // Completions are tracked per node, so upstreams spread across the cluster would never all be seen
+                    LOG.error("Task [{}] depends on several tasks {}, which is not supported by a clustered job store. "
+                            + "This task will not be initialized.", job.getName(), upstreams);
+                    rejected.add(job.getName());
+                }
+            }
+        }
+        // A downstream of a rejected task would be stored without a trigger and never run
+        Deque<String> pending = new ArrayDeque<>(rejected);
+        while (!pending.isEmpty()) {
+            String upstream = pending.pop();
+            for (String downstream : graph.getDownstreams(upstream)) {
+                if (rejected.add(downstream)) {
+                    LOG.error("Task [{}] depends on task [{}], which is not initialized. This task will not be initialized either.", downstream, upstream);
+                    pending.push(downstream);
+                }
+            }
+        }
+        rejected.forEach(graph::remove);
+
+        for (JobAdapter job : jobs) {
+            if (rejected.contains(job.getName())) {
+                deleteRejectedTask(job);
+            } else {
+                createScheduledTask(job);
+            }
         }
+
+        if (!graph.isEmpty()) {
+            scheduler.getListenerManager().addJobListener(new JobDependencyListener(graph, JOB_GROUP), GroupMatcher.jobGroupEquals(JOB_GROUP));
+            LOG.info("Job dependency listener registered.");
+        }
+    }
+
+    @Override
+    public void setApplicationContext(@NonNull ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
     }
 
-    private void createScheduledTask(Class<?> jobClass) {
+    /**
+     * Releases the startup firings once this context is refreshed, after the scheduler has been started, so the ramp
+     * starts when triggers can actually fire. Child contexts refresh while this one is still refreshing and their
+     * events reach this listener too, so only the event of this context counts.
+     */
+    @Override
+    public void onApplicationEvent(@NonNull ContextRefreshedEvent event) {
+        if (!startupFiring.isAwaitApplicationReady() && event.getApplicationContext() == applicationContext) {
+            releaseStartupFirings();
+        }
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (startupFiring.isAwaitApplicationReady() && event.getApplicationContext() == applicationContext) {
+            releaseStartupFirings();
+        }
+    }
+
+    /**
+     * Schedules the pending fire-once jobs as one-shot triggers, highest priority first,
+     * releasing {@code batch-size} of them every {@code interval}.
+     */
+    private synchronized void releaseStartupFirings() {
+        if (pendingStartupFirings.isEmpty()) {
+            return;
+        }
+        pendingStartupFirings.sort(Comparator.comparingInt(JobAdapter::getPriority).reversed());
+        Instant base = Instant.now();
+        for (int i = 0; i < pendingStartupFirings.size(); i++) {
+            JobAdapter job = pendingStartupFirings.get(i);
+            Instant startAt = base.plus(startupFiring.getInterval().multipliedBy(i / startupFiring.getBatchSize()));
+            try {
+                scheduler.scheduleJob(TriggerBuilder.newTrigger()
+                        .withIdentity(job.getName() + "#startup-" + base.toEpochMilli(), STARTUP_TRIGGER_GROUP)
+                        .forJob(job.getName(), JOB_GROUP)
+                        .withPriority(job.getPriority())
+                        .startAt(Date.from(startAt))
+                        .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                        .build());
+                LOG.info("Task [{}] will be triggered once at {} after service startup.", job.getName(), startAt);
+            } catch (Exception e) {
+                LOG.error("Failed to trigger task [{}] after service startup. Cause: {}", job.getName(), e.getMessage(), e);
+            }
+        }
+        pendingStartupFirings.clear();
+    }
+
+    private JobDependencyGraph createDependencyGraph(List<JobAdapter> jobs) {
+        JobDependencyGraph graph = new JobDependencyGraph();
+        Set<String> names = new HashSet<>();
+        jobs.forEach(job -> names.add(job.getName()));
+        for (JobAdapter job : jobs) {
+            try {
+                if (job.isDeactivated() || job.getDependsOn().isEmpty()) {
+                    continue;
+                }
+                job.getDependsOn().stream()
+                        .filter(upstream -> !names.contains(upstream))
+                        .forEach(upstream -> LOG.warn("Task [{}] depends on unknown task [{}] and will not be triggered by it.", job.getName(), upstream));
+                graph.declare(job.getName(), job.getDependsOn());
+            } catch (Exception e) {
+                LOG.error("Failed to resolve dependencies of task [{}]. Cause: {}", job.getName(), e.getMessage(), e);
+            }
+        }
+        return graph;
+    }
+
+    private void createScheduledTask(JobAdapter job) {
+        String jobName = job.getName();
         try {
-            JobAdapter job = (JobAdapter) jobClass.getDeclaredConstructor().newInstance();
-            String jobName = job.getName();
             TriggerKey triggerKey = TriggerKey.triggerKey(jobName, TRIGGER_GROUP);
             JobDetail jobDetail = createJobDetail(job);
 
             if (job.isDeactivated()) {
                 LOG.warn("Task [{}] is deactivated. Skipping initialization and deleting any existing job.", jobName);
-                deleteScheduledTaskIfExists(triggerKey, jobDetail);
+                deleteScheduledTaskIfExists(jobDetail);
                 return;
             }
 
             if (job.isReinitializeIfExistsOnServiceStartup()) {
                 LOG.info("Task [{}] is configured to reinitialize on startup. Deleting any existing job.", jobName);
-                deleteScheduledTaskIfExists(triggerKey, jobDetail);
+                deleteScheduledTaskIfExists(jobDetail);
             }
 
             if (!scheduler.checkExists(triggerKey)) {
                 Optional<ScheduleBuilder<?>> builder = createScheduleBuilder(job);
-                if (builder.isEmpty()) {
+                if (builder.isEmpty() && !job.getDependsOn().isEmpty()) {
+                    scheduler.addJob(jobDetail, true);
+                    LOG.info("Task [{}] initialized successfully. It runs after its upstream tasks {}.", jobName, job.getDependsOn());
+                } else if (builder.isEmpty()) {
                     LOG.error("Task [{}] initialization failed. Missing or invalid 'cron' and 'fixed-time' configuration.", jobName);
                     return;
+                } else {
+                    scheduler.scheduleJob(jobDetail, createTrigger(job, builder.get()));
+                    LOG.info("Task [{}] initialized successfully.", jobName);
                 }
-                scheduler.scheduleJob(jobDetail, createTrigger(job, builder.get()));
-                LOG.info("Task [{}] initialized successfully.", jobName);
             } else {
                 LOG.info("Task [{}] already exists. Skipping registration.", jobName);
             }
 
             if (job.isFireOnceOnServiceStartup()) {
-                scheduler.triggerJob(jobDetail.getKey());
-                LOG.info("Task [{}] triggered immediately after service startup.", jobName);
+                pendingStartupFirings.add(job);
             }
 
         } catch (Exception e) {
-            LOG.error("Failed to initialize task [{}]. Cause: {}", jobClass.getName(), e.getMessage(), e);
+            LOG.error("Failed to initialize task [{}]. Cause: {}", jobName, e.getMessage(), e);
         }
     }
 
-    private void deleteScheduledTaskIfExists(TriggerKey triggerKey, JobDetail jobDetail) throws SchedulerException {
-        if (scheduler.checkExists(triggerKey)) {
+    /**
+     * Deletes a rejected task, so a copy persisted by an earlier version does not keep firing on its old schedule.
+     */
+    private void deleteRejectedTask(JobAdapter job) {
+        try {
+            deleteScheduledTaskIfExists(createJobDetail(job));
+        } catch (Exception e) {
+            LOG.error("Failed to delete rejected task [{}]. Cause: {}", job.getName(), e.getMessage(), e);
+        }
+    }
+
+    private void deleteScheduledTaskIfExists(JobDetail jobDetail) throws SchedulerException {
+        if (scheduler.checkExists(jobDetail.getKey())) {
             scheduler.deleteJob(jobDetail.getKey());
         }
     }
@@ -96,6 +239,8 @@ public class ScheduledTasksInitializer implements InitializingBean {
     private JobDetail createJobDetail(JobAdapter job) {
         return JobBuilder.newJob(job.getClass())
                 .withIdentity(job.getName(), JOB_GROUP)
+                .storeDurably(!job.getDependsOn().isEmpty())
+                .requestRecovery(true)
                 .build();
     }
 
@@ -103,6 +248,7 @@ public class ScheduledTasksInitializer implements InitializingBean {
         return TriggerBuilder.newTrigger()
                 .withIdentity(job.getName(), TRIGGER_GROUP)
                 .withSchedule(scheduleBuilder)
+                .withPriority(job.getPriority())
                 .startNow()
                 .build();
     }
@@ -116,6 +262,21 @@ public class ScheduledTasksInitializer implements InitializingBean {
         return Optional.empty();
     }
 
+    /**
+     * Instantiates the jobs to initialize, one per class found by {@link #getJobClasses()}.
+     */
+    protected List<JobAdapter> getJobs() throws IOException {
+        List<JobAdapter> jobs = new ArrayList<>();
+        for (Class<?> jobClass : getJobClasses()) {
+            try {
+                jobs.add((JobAdapter) jobClass.getDeclaredConstructor().newInstance());
+            } catch (Exception e) {
+                LOG.error("Failed to instantiate task [{}]. Cause: {}", jobClass.getName(), e.getMessage(), e);
+            }
+        }
+        return jobs;
+    }
+
     protected Set<Class<?>> getJobClasses() throws IOException {
         if (StringUtils.isBlank(scanPackages)) {
             LOG.warn("No job packages configured via 'metrics.job-packages'. Skipping job scan.");
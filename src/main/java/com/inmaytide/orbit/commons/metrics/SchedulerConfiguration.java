@@ -2,6 +2,7 @@ package com.inmaytide.orbit.commons.metrics;
 
 import org.quartz.Scheduler;
 import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -17,12 +18,13 @@ import java.util.Properties;
 /**
  * Quartz scheduler configuration with optional persistent job store support.
  * Jobs will be autowired with Spring dependencies.
+ * Job resource accounting is switched on here, before the scheduler is created.
  *
  * @author inmaytide
  * @since 2023/5/30
  */
 @Configuration
-public class SchedulerConfiguration {
+public class SchedulerConfiguration implements InitializingBean {
 
     private final AutowireCapableBeanFactory autowireCapableBeanFactory;
     private final MetricsProperties properties;
@@ -33,6 +35,11 @@ public class SchedulerConfiguration {
         this.properties = properties;
     }
 
+    @Override
+    public void afterPropertiesSet() {
+        JobResourceUsage.setEnabled(properties.isResourceAccounting());
+    }
+
     @Bean
     @ConditionalOnMissingBean(JobParametersHolder.class)
     public JobParametersHolder jobParametersHolder() {
@@ -73,6 +80,14 @@ public class SchedulerConfiguration {
         return schedulerFactoryBean().getScheduler();
     }
 
+    /**
+     * Drains running jobs before the scheduler shuts down.
+     */
+    @Bean
+    public SchedulerDrainCoordinator schedulerDrainCoordinator() throws IOException {
+        return new SchedulerDrainCoordinator(scheduler(), properties.getShutdown());
+    }
+
     /**
      * Builds Quartz configuration properties with or without persistence.
      */
@@ -87,14 +102,23 @@ public class SchedulerConfiguration {
             props.put("org.quartz.dataSource.orbit.user", ds.getUser());
             props.put("org.quartz.dataSource.orbit.password", ds.getPassword());
             props.put("org.quartz.dataSource.orbit.maxConnections", String.valueOf(ds.getMaxConnections()));
+            if (properties.getNodeCapacity() != null && properties.getNodeCapacity() > 0) {
+                // Spread jobs across the cluster according to node capacity
+                props.put("org.quartz.jobStore.class", CapacityAwareJobStoreTX.class.getName());
+                props.put("org.quartz.jobStore.nodeCapacity", String.valueOf(properties.getNodeCapacity()));
+            }
         } else {
-            // Switch to in-memory job store
-            props.put("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
             // Remove DB-related properties if present
             props.keySet().removeIf(key -> key.toString().startsWith("org.quartz.jobStore")
                     || key.toString().startsWith("org.quartz.dataSource.orbit"));
+            // Switch to in-memory job store
+            props.put("org.quartz.jobStore.class", properties.getJobStore() == MetricsProperties.JobStore.TIMING_WHEEL
+                    ? TimingWheelJobStore.class.getName()
+                    : "org.quartz.simpl.RAMJobStore");
         }
 
+        props.putAll(properties.getQuartz());
+
         return props;
     }
 }
@@ -0,0 +1,106 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Drains the scheduler before the application context shuts it down.
+ * <p>
+ * On stop the scheduler is put in standby so this node acquires no new triggers. Running jobs get
+ * {@code drain-timeout} to finish; the remaining ones are then cancelled with
+ * {@link CancellationToken.Reason#SHUTDOWN} and get {@code checkpoint-timeout} to save their progress
+ * and stop. A job that stops by throwing after a shutdown cancellation is re-submitted through a
+ * one-shot trigger, so another node of the cluster picks it up.
+ * </p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public class SchedulerDrainCoordinator implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchedulerDrainCoordinator.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final Scheduler scheduler;
+
+    private final MetricsProperties.Shutdown shutdown;
+
+    private volatile boolean running;
+
+    public SchedulerDrainCoordinator(Scheduler scheduler, MetricsProperties.Shutdown shutdown) {
+        this.scheduler = scheduler;
+        this.shutdown = shutdown;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            scheduler.standby();
+            LOG.info("Scheduler in standby, waiting up to {}s for {} running task(s) to complete.",
+                    shutdown.getDrainTimeout().toSeconds(), scheduler.getCurrentlyExecutingJobs().size());
+            if (awaitIdle(shutdown.getDrainTimeout())) {
+                LOG.info("All running tasks completed, scheduler drained.");
+                return;
+            }
+
+            int cancelled = 0;
+            for (JobExecution execution : JobExecution.running()) {
+                if (execution.cancel(CancellationToken.Reason.SHUTDOWN)) {
+                    cancelled++;
+                    LOG.warn("Task [{}] still running after drain timeout, requesting checkpoint and stop.", execution.getJobName());
+                }
+            }
+            LOG.info("Cancelled {} task(s), waiting up to {}s for them to checkpoint.", cancelled, shutdown.getCheckpointTimeout().toSeconds());
+            if (!awaitIdle(shutdown.getCheckpointTimeout())) {
+                LOG.warn("{} task(s) did not stop in time and will be recovered by another node.", scheduler.getCurrentlyExecutingJobs().size());
+            }
+        } catch (SchedulerException e) {
+            LOG.error("Failed to drain scheduler. Cause: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while draining scheduler.");
+        }
+    }
+
+    private boolean awaitIdle(Duration timeout) throws SchedulerException, InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        // Runs of asynchronous jobs are no longer reported by the scheduler once their worker thread is released
+        while (!scheduler.getCurrentlyExecutingJobs().isEmpty() || !JobExecution.running().isEmpty()) {
+            if (Instant.now().isAfter(deadline)) {
+                return false;
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops in the same phase as the {@code SchedulerFactoryBean}, whose own stop only puts the
+     * scheduler in standby; the scheduler is shut down after every lifecycle bean has stopped.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+}
@@ -0,0 +1,1121 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.quartz.*;
+import org.quartz.Calendar;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.impl.matchers.StringMatcher;
+import org.quartz.spi.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link JobStore} keeping triggers in a hashed timing wheel instead of a globally locked {@code TreeSet}.
+ * <p>
+ * Triggers are hashed into buckets by fire time, so scheduling a trigger is O(1). Acquisition is not: it visits
+ * every bucket of the acquisition window, one per tick, and sorts the due entries of each, so its cost grows with
+ * the window divided by {@code tickMillis} plus the number of due triggers. State is striped: structural changes
+ * lock the job they affect and state transitions lock the trigger, so storing, firing and completing jobs do not
+ * serialize on one lock. A superseded wheel entry drops its trigger right away and the empty entry is discarded
+ * when its bucket is next visited, instead of being searched for and removed.
+ * </p>
+ *
+ * <p>Like {@link org.quartz.simpl.RAMJobStore}, nothing survives a restart and clustering is not supported.</p>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public class TimingWheelJobStore implements JobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelJobStore.class);
+
+    private final ConcurrentMap<JobKey, JobHolder> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TriggerKey, TriggerHolder> triggers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Calendar> calendars = new ConcurrentHashMap<>();
+    private final Set<String> pausedTriggerGroups = ConcurrentHashMap.newKeySet();
+    private final Set<String> pausedJobGroups = ConcurrentHashMap.newKeySet();
+    private final Set<JobKey> blockedJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicLong firedTriggerCounter = new AtomicLong(System.currentTimeMillis());
+
+    private long misfireThreshold = 5000L;
+    private long tickMillis = 10L;
+    private int wheelSize = 4096;
+
+    private SchedulerSignaler signaler;
+    private Wheel wheel;
+
+    public void setMisfireThreshold(long misfireThreshold) {
+        if (misfireThreshold < 1) {
+            throw new IllegalArgumentException("Misfire threshold must be larger than 0");
+        }
+        this.misfireThreshold = misfireThreshold;
+    }
+
+    public long getMisfireThreshold() {
+        return misfireThreshold;
+    }
+
+    /**
+     * Sets the time covered by one bucket of the wheel, in milliseconds.
+     */
+    public void setTickMillis(long tickMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be larger than 0");
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Sets the number of buckets of the wheel, rounded up to a power of two.
+     */
+    public void setWheelSize(int wheelSize) {
+        if (wheelSize < 1 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^20");
+        }
+        this.wheelSize = Math.max(1, Integer.highestOneBit(wheelSize - 1) << 1);
+    }
+
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler signaler) {
+        this.signaler = signaler;
+        this.wheel = new Wheel(tickMillis, Math.max(1, wheelSize));
+        LOG.info("Timing wheel job store initialized with {} bucket(s) of {}ms.", wheel.buckets.length, tickMillis);
+    }
+
+    @Override
+    public void schedulerStarted() {
+    }
+
+    @Override
+    public void schedulerPaused() {
+    }
+
+    @Override
+    public void schedulerResumed() {
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public boolean supportsPersistence() {
+        return false;
+    }
+
+    @Override
+    public long getEstimatedTimeToReleaseAndAcquireTrigger() {
+        return 5;
+    }
+
+    @Override
+    public boolean isClustered() {
+        return false;
+    }
+
+    // Jobs and triggers
+
+    @Override
+    public void storeJobAndTrigger(JobDetail newJob, OperableTrigger newTrigger) throws JobPersistenceException {
+        storeJob(newJob, false);
+        storeTrigger(newTrigger, false);
+    }
+
+    @Override
+    public void storeJob(JobDetail newJob, boolean replaceExisting) throws ObjectAlreadyExistsException {
+        JobDetail copy = (JobDetail) newJob.clone();
+        while (true) {
+            JobHolder existing = jobs.putIfAbsent(newJob.getKey(), new JobHolder(copy));
+            if (existing == null) {
+                return;
+            }
+            if (!replaceExisting) {
+                throw new ObjectAlreadyExistsException(newJob);
+            }
+            synchronized (existing) {
+                if (!existing.removed) {
+                    existing.jobDetail = copy;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void storeJobsAndTriggers(Map<JobDetail, Set<? extends Trigger>> triggersAndJobs, boolean replace) throws JobPersistenceException {
+        if (!replace) {
+            for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : triggersAndJobs.entrySet()) {
+                if (checkExists(entry.getKey().getKey())) {
+                    throw new ObjectAlreadyExistsException(entry.getKey());
+                }
+                for (Trigger trigger : entry.getValue()) {
+                    if (checkExists(trigger.getKey())) {
+                        throw new ObjectAlreadyExistsException(trigger);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<JobDetail, Set<? extends Trigger>> entry : triggersAndJobs.entrySet()) {
+            storeJob(entry.getKey(), true);
+            for (Trigger trigger : entry.getValue()) {
+                storeTrigger((OperableTrigger) trigger, true);
+            }
+        }
+    }
+
+    @Override
+    public boolean removeJob(JobKey jobKey) {
+        JobHolder holder = jobs.get(jobKey);
+        if (holder == null) {
+            return false;
+        }
+        synchronized (holder) {
+            if (holder.removed) {
+                return false;
+            }
+            for (TriggerHolder trigger : new ArrayList<>(holder.triggers)) {
+                doRemoveTrigger(holder, trigger, false);
+            }
+            jobs.remove(jobKey, holder);
+            holder.removed = true;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeJobs(List<JobKey> jobKeys) {
+        boolean allFound = true;
+        for (JobKey jobKey : jobKeys) {
+            allFound = removeJob(jobKey) && allFound;
+        }
+        return allFound;
+    }
+
+    @Override
+    public JobDetail retrieveJob(JobKey jobKey) {
+        JobHolder holder = jobs.get(jobKey);
+        return holder == null ? null : (JobDetail) holder.jobDetail.clone();
+    }
+
+    @Override
+    public void storeTrigger(OperableTrigger newTrigger, boolean replaceExisting) throws JobPersistenceException {
+        if (triggers.containsKey(newTrigger.getKey())) {
+            if (!replaceExisting) {
+                throw new ObjectAlreadyExistsException(newTrigger);
+            }
+            removeTrigger(newTrigger.getKey(), false);
+        }
+        JobHolder job = jobs.get(newTrigger.getJobKey());
+        if (job == null) {
+            throw new JobPersistenceException("The job (" + newTrigger.getJobKey() + ") referenced by the trigger does not exist.");
+        }
+        synchronized (job) {
+            if (job.removed) {
+                throw new JobPersistenceException("The job (" + newTrigger.getJobKey() + ") referenced by the trigger does not exist.");
+            }
+            doStoreTrigger(job, newTrigger);
+        }
+    }
+
+    /**
+     * Stores a trigger of the given job; the caller holds the job lock.
+     */
+    private void doStoreTrigger(JobHolder job, OperableTrigger newTrigger) throws ObjectAlreadyExistsException {
+        TriggerHolder holder = new TriggerHolder((OperableTrigger) newTrigger.clone());
+        if (triggers.putIfAbsent(holder.key, holder) != null) {
+            throw new ObjectAlreadyExistsException(newTrigger);
+        }
+        job.triggers.add(holder);
+        synchronized (holder) {
+            boolean blocked = blockedJobs.contains(holder.jobKey);
+            if (pausedTriggerGroups.contains(holder.key.getGroup()) || pausedJobGroups.contains(holder.jobKey.getGroup())) {
+                holder.state = blocked ? State.PAUSED_BLOCKED : State.PAUSED;
+            } else if (blocked) {
+                holder.state = State.BLOCKED;
+            } else {
+                holder.state = State.WAITING;
+                enqueue(holder);
+            }
+        }
+    }
+
+    @Override
+    public boolean removeTrigger(TriggerKey triggerKey) {
+        return removeTrigger(triggerKey, true);
+    }
+
+    private boolean removeTrigger(TriggerKey triggerKey, boolean removeOrphanedJob) {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return false;
+        }
+        JobHolder job = jobs.get(holder.jobKey);
+        if (job == null) {
+            synchronized (holder) {
+                holder.detach();
+            }
+            return triggers.remove(triggerKey, holder);
+        }
+        synchronized (job) {
+            return doRemoveTrigger(job, holder, removeOrphanedJob);
+        }
+    }
+
+    /**
+     * Removes a trigger of the given job; the caller holds the job lock.
+     */
+    private boolean doRemoveTrigger(JobHolder job, TriggerHolder holder, boolean removeOrphanedJob) {
+        if (!triggers.remove(holder.key, holder)) {
+            return false;
+        }
+        job.triggers.remove(holder);
+        synchronized (holder) {
+            // Releases the trigger from its wheel entry, the empty entry is discarded when its bucket is next visited
+            holder.detach();
+        }
+        if (removeOrphanedJob && !job.jobDetail.isDurable() && job.triggers.isEmpty() && jobs.remove(job.jobDetail.getKey(), job)) {
+            job.removed = true;
+            signaler.notifySchedulerListenersJobDeleted(job.jobDetail.getKey());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeTriggers(List<TriggerKey> triggerKeys) {
+        boolean allFound = true;
+        for (TriggerKey triggerKey : triggerKeys) {
+            allFound = removeTrigger(triggerKey) && allFound;
+        }
+        return allFound;
+    }
+
+    @Override
+    public boolean replaceTrigger(TriggerKey triggerKey, OperableTrigger newTrigger) throws JobPersistenceException {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return false;
+        }
+        if (!holder.jobKey.equals(newTrigger.getJobKey())) {
+            throw new JobPersistenceException("New trigger is not related to the same job as the old trigger.");
+        }
+        JobHolder job = jobs.get(holder.jobKey);
+        if (job == null) {
+            return false;
+        }
+        synchronized (job) {
+            if (!doRemoveTrigger(job, holder, false)) {
+                return false;
+            }
+            doStoreTrigger(job, newTrigger);
+        }
+        return true;
+    }
+
+    @Override
+    public OperableTrigger retrieveTrigger(TriggerKey triggerKey) {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return null;
+        }
+        synchronized (holder) {
+            return (OperableTrigger) holder.trigger.clone();
+        }
+    }
+
+    @Override
+    public boolean checkExists(JobKey jobKey) {
+        return jobs.containsKey(jobKey);
+    }
+
+    @Override
+    public boolean checkExists(TriggerKey triggerKey) {
+        return triggers.containsKey(triggerKey);
+    }
+
+    @Override
+    public void clearAllSchedulingData() {
+        for (JobKey jobKey : new ArrayList<>(jobs.keySet())) {
+            removeJob(jobKey);
+        }
+        for (TriggerKey triggerKey : new ArrayList<>(triggers.keySet())) {
+            removeTrigger(triggerKey, false);
+        }
+        calendars.clear();
+        pausedTriggerGroups.clear();
+        pausedJobGroups.clear();
+        blockedJobs.clear();
+    }
+
+    // Calendars
+
+    @Override
+    public void storeCalendar(String name, Calendar calendar, boolean replaceExisting, boolean updateTriggers) throws ObjectAlreadyExistsException {
+        Calendar copy = (Calendar) calendar.clone();
+        if (!replaceExisting) {
+            if (calendars.putIfAbsent(name, copy) != null) {
+                throw new ObjectAlreadyExistsException("Calendar with name '" + name + "' already exists.");
+            }
+            return;
+        }
+        Calendar previous = calendars.put(name, copy);
+        if (previous != null && updateTriggers) {
+            for (TriggerHolder holder : triggers.values()) {
+                synchronized (holder) {
+                    if (name.equals(holder.trigger.getCalendarName())) {
+                        holder.trigger.updateWithNewCalendar(copy, misfireThreshold);
+                        if (holder.state == State.WAITING) {
+                            enqueue(holder);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean removeCalendar(String calName) throws JobPersistenceException {
+        for (TriggerHolder holder : triggers.values()) {
+            if (calName.equals(holder.trigger.getCalendarName())) {
+                throw new JobPersistenceException("Calender cannot be removed if it referenced by a Trigger!");
+            }
+        }
+        return calendars.remove(calName) != null;
+    }
+
+    @Override
+    public Calendar retrieveCalendar(String calName) {
+        Calendar calendar = calendars.get(calName);
+        return calendar == null ? null : (Calendar) calendar.clone();
+    }
+
+    // Queries
+
+    @Override
+    public int getNumberOfJobs() {
+        return jobs.size();
+    }
+
+    @Override
+    public int getNumberOfTriggers() {
+        return triggers.size();
+    }
+
+    @Override
+    public int getNumberOfCalendars() {
+        return calendars.size();
+    }
+
+    @Override
+    public Set<JobKey> getJobKeys(GroupMatcher<JobKey> matcher) {
+        Set<JobKey> keys = new HashSet<>();
+        for (JobKey key : jobs.keySet()) {
+            if (matcher.isMatch(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public Set<TriggerKey> getTriggerKeys(GroupMatcher<TriggerKey> matcher) {
+        Set<TriggerKey> keys = new HashSet<>();
+        for (TriggerKey key : triggers.keySet()) {
+            if (matcher.isMatch(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public List<String> getJobGroupNames() {
+        return jobs.keySet().stream().map(JobKey::getGroup).distinct().toList();
+    }
+
+    @Override
+    public List<String> getTriggerGroupNames() {
+        return triggers.keySet().stream().map(TriggerKey::getGroup).distinct().toList();
+    }
+
+    @Override
+    public List<String> getCalendarNames() {
+        return new ArrayList<>(calendars.keySet());
+    }
+
+    @Override
+    public List<OperableTrigger> getTriggersForJob(JobKey jobKey) {
+        JobHolder job = jobs.get(jobKey);
+        if (job == null) {
+            return new ArrayList<>();
+        }
+        List<OperableTrigger> result = new ArrayList<>();
+        for (TriggerHolder holder : job.triggers) {
+            synchronized (holder) {
+                result.add((OperableTrigger) holder.trigger.clone());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public TriggerState getTriggerState(TriggerKey triggerKey) {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return TriggerState.NONE;
+        }
+        synchronized (holder) {
+            return switch (holder.state) {
+                case COMPLETE -> TriggerState.COMPLETE;
+                case PAUSED, PAUSED_BLOCKED -> TriggerState.PAUSED;
+                case BLOCKED -> TriggerState.BLOCKED;
+                case ERROR -> TriggerState.ERROR;
+                default -> TriggerState.NORMAL;
+            };
+        }
+    }
+
+    // Pause and resume
+
+    @Override
+    public void resetTriggerFromErrorState(TriggerKey triggerKey) {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return;
+        }
+        synchronized (holder) {
+            if (holder.state != State.ERROR) {
+                return;
+            }
+            if (pausedTriggerGroups.contains(triggerKey.getGroup())) {
+                holder.state = State.PAUSED;
+            } else if (blockedJobs.contains(holder.jobKey)) {
+                holder.state = State.BLOCKED;
+            } else {
+                holder.state = State.WAITING;
+                enqueue(holder);
+            }
+        }
+    }
+
+    @Override
+    public void pauseTrigger(TriggerKey triggerKey) {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return;
+        }
+        synchronized (holder) {
+            if (holder.state == State.COMPLETE) {
+                return;
+            }
+            holder.state = holder.state == State.BLOCKED ? State.PAUSED_BLOCKED : State.PAUSED;
+            holder.detach();
+        }
+    }
+
+    @Override
+    public Collection<String> pauseTriggers(GroupMatcher<TriggerKey> matcher) {
+        List<String> pausedGroups = new ArrayList<>();
+        StringMatcher.StringOperatorName operator = matcher.getCompareWithOperator();
+        if (operator == StringMatcher.StringOperatorName.EQUALS) {
+            if (pausedTriggerGroups.add(matcher.getCompareToValue())) {
+                pausedGroups.add(matcher.getCompareToValue());
+            }
+        } else {
+            for (String group : getTriggerGroupNames()) {
+                if (operator.evaluate(group, matcher.getCompareToValue()) && pausedTriggerGroups.add(group)) {
+                    pausedGroups.add(group);
+                }
+            }
+        }
+        for (String group : pausedGroups) {
+            for (TriggerKey triggerKey : getTriggerKeys(GroupMatcher.triggerGroupEquals(group))) {
+                pauseTrigger(triggerKey);
+            }
+        }
+        return pausedGroups;
+    }
+
+    @Override
+    public void pauseJob(JobKey jobKey) {
+        for (OperableTrigger trigger : getTriggersForJob(jobKey)) {
+            pauseTrigger(trigger.getKey());
+        }
+    }
+
+    @Override
+    public Collection<String> pauseJobs(GroupMatcher<JobKey> matcher) {
+        List<String> pausedGroups = new ArrayList<>();
+        StringMatcher.StringOperatorName operator = matcher.getCompareWithOperator();
+        if (operator == StringMatcher.StringOperatorName.EQUALS) {
+            if (pausedJobGroups.add(matcher.getCompareToValue())) {
+                pausedGroups.add(matcher.getCompareToValue());
+            }
+        } else {
+            for (String group : getJobGroupNames()) {
+                if (operator.evaluate(group, matcher.getCompareToValue()) && pausedJobGroups.add(group)) {
+                    pausedGroups.add(group);
+                }
+            }
+        }
+        for (String group : pausedGroups) {
+            for (JobKey jobKey : getJobKeys(GroupMatcher.jobGroupEquals(group))) {
+                pauseJob(jobKey);
+            }
+        }
+        return pausedGroups;
+    }
+
+    @Override
+    public void resumeTrigger(TriggerKey triggerKey) {
+        TriggerHolder holder = triggers.get(triggerKey);
+        if (holder == null) {
+            return;
+        }
+        synchronized (holder) {
+            if (holder.state != State.PAUSED && holder.state != State.PAUSED_BLOCKED) {
+                return;
+            }
+            holder.state = blockedJobs.contains(holder.jobKey) ? State.BLOCKED : State.WAITING;
+            applyMisfire(holder, System.currentTimeMillis());
+            if (holder.state == State.WAITING) {
+                enqueue(holder);
+            }
+        }
+    }
+
+    @Override
+    public Collection<String> resumeTriggers(GroupMatcher<TriggerKey> matcher) {
+        Set<String> groups = new HashSet<>();
+        for (TriggerKey triggerKey : getTriggerKeys(matcher)) {
+            groups.add(triggerKey.getGroup());
+            TriggerHolder holder = triggers.get(triggerKey);
+            if (holder != null && pausedJobGroups.contains(holder.jobKey.getGroup())) {
+                continue;
+            }
+            resumeTrigger(triggerKey);
+        }
+        StringMatcher.StringOperatorName operator = matcher.getCompareWithOperator();
+        if (operator == StringMatcher.StringOperatorName.EQUALS) {
+            pausedTriggerGroups.remove(matcher.getCompareToValue());
+        } else {
+            pausedTriggerGroups.removeIf(group -> operator.evaluate(group, matcher.getCompareToValue()));
+        }
+        return new ArrayList<>(groups);
+    }
+
+    @Override
+    public Set<String> getPausedTriggerGroups() {
+        return new HashSet<>(pausedTriggerGroups);
+    }
+
+    @Override
+    public void resumeJob(JobKey jobKey) {
+        for (OperableTrigger trigger : getTriggersForJob(jobKey)) {
+            resumeTrigger(trigger.getKey());
+        }
+    }
+
+    @Override
+    public Collection<String> resumeJobs(GroupMatcher<JobKey> matcher) {
+        Set<String> resumedGroups = new HashSet<>();
+        for (String group : pausedJobGroups) {
+            if (matcher.getCompareWithOperator().evaluate(group, matcher.getCompareToValue())) {
+                resumedGroups.add(group);
+            }
+        }
+        pausedJobGroups.removeAll(resumedGroups);
+        for (JobKey jobKey : getJobKeys(matcher)) {
+            resumeJob(jobKey);
+            resumedGroups.add(jobKey.getGroup());
+        }
+        return resumedGroups;
+    }
+
+    @Override
+    public void pauseAll() {
+        for (String group : getTriggerGroupNames()) {
+            pauseTriggers(GroupMatcher.triggerGroupEquals(group));
+        }
+    }
+
+    @Override
+    public void resumeAll() {
+        pausedJobGroups.clear();
+        resumeTriggers(GroupMatcher.anyTriggerGroup());
+    }
+
+    // Firing
+
+    @Override
+    public List<OperableTrigger> acquireNextTriggers(long noLaterThan, int maxCount, long timeWindow) {
+        return wheel.acquire(noLaterThan, maxCount, timeWindow);
+    }
+
+    @Override
+    public void releaseAcquiredTrigger(OperableTrigger trigger) {
+        TriggerHolder holder = triggers.get(trigger.getKey());
+        if (holder == null) {
+            return;
+        }
+        synchronized (holder) {
+            if (holder.state == State.ACQUIRED) {
+                holder.state = State.WAITING;
+                enqueue(holder);
+            }
+        }
+    }
+
+    @Override
+    public List<TriggerFiredResult> triggersFired(List<OperableTrigger> firedTriggers) {
+        List<TriggerFiredResult> results = new ArrayList<>(firedTriggers.size());
+        for (OperableTrigger trigger : firedTriggers) {
+            results.add(new TriggerFiredResult(triggerFired(trigger)));
+        }
+        return results;
+    }
+
+    /**
+     * Fires an acquired trigger, or returns null if it was removed, paused or completed since acquisition.
+     */
+    private TriggerFiredBundle triggerFired(OperableTrigger trigger) {
+        TriggerHolder holder = triggers.get(trigger.getKey());
+        JobHolder job = holder == null ? null : jobs.get(holder.jobKey);
+        if (job == null) {
+            return null;
+        }
+        synchronized (job) {
+            synchronized (holder) {
+                if (holder.state != State.ACQUIRED || triggers.get(holder.key) != holder) {
+                    return null;
+                }
+                Calendar calendar = null;
+                if (holder.trigger.getCalendarName() != null) {
+                    calendar = calendars.get(holder.trigger.getCalendarName());
+                    if (calendar == null) {
+                        return null;
+                    }
+                }
+                Date prevFireTime = trigger.getPreviousFireTime();
+                // Keep our copy and the scheduler's copy in step
+                holder.trigger.triggered(calendar);
+                trigger.triggered(calendar);
+                holder.state = State.WAITING;
+
+                JobDetail jobDetail = (JobDetail) job.jobDetail.clone();
+                TriggerFiredBundle bundle = new TriggerFiredBundle(jobDetail, trigger, calendar, false, new Date(),
+                        trigger.getPreviousFireTime(), prevFireTime, trigger.getNextFireTime());
+
+                if (jobDetail.isConcurrentExectionDisallowed()) {
+                    for (TriggerHolder other : job.triggers) {
+                        synchronized (other) {
+                            if (other.state == State.WAITING) {
+                                other.state = State.BLOCKED;
+                            } else if (other.state == State.PAUSED) {
+                                other.state = State.PAUSED_BLOCKED;
+                            }
+                            other.detach();
+                        }
+                    }
+                    blockedJobs.add(holder.jobKey);
+                } else if (holder.trigger.getNextFireTime() != null) {
+                    enqueue(holder);
+                }
+                return bundle;
+            }
+        }
+    }
+
+    @Override
+    public void triggeredJobComplete(OperableTrigger trigger, JobDetail jobDetail, CompletedExecutionInstruction triggerInstCode) {
+        JobHolder job = jobs.get(jobDetail.getKey());
+        if (job != null) {
+            synchronized (job) {
+                if (jobDetail.isPersistJobDataAfterExecution()) {
+                    JobDataMap jobDataMap = jobDetail.getJobDataMap();
+                    if (jobDataMap != null) {
+                        jobDataMap = (JobDataMap) jobDataMap.clone();
+                        jobDataMap.clearDirtyFlag();
+                    }
+                    job.jobDetail = job.jobDetail.getJobBuilder().setJobData(jobDataMap).build();
+                }
+                if (jobDetail.isConcurrentExectionDisallowed()) {
+                    blockedJobs.remove(jobDetail.getKey());
+                    for (TriggerHolder holder : job.triggers) {
+                        synchronized (holder) {
+                            if (holder.state == State.BLOCKED) {
+                                holder.state = State.WAITING;
+                                enqueue(holder);
+                            } else if (holder.state == State.PAUSED_BLOCKED) {
+                                holder.state = State.PAUSED;
+                            }
+                        }
+                    }
+                    signaler.signalSchedulingChange(0L);
+                }
+            }
+        } else {
+            blockedJobs.remove(jobDetail.getKey());
+        }
+
+        TriggerHolder holder = triggers.get(trigger.getKey());
+        if (holder == null) {
+            return;
+        }
+        switch (triggerInstCode) {
+            case DELETE_TRIGGER -> {
+                if (trigger.getNextFireTime() == null) {
+                    // The job may have rescheduled the trigger while it was running
+                    boolean rescheduled;
+                    synchronized (holder) {
+                        rescheduled = holder.trigger.getNextFireTime() != null;
+                    }
+                    if (!rescheduled) {
+                        removeTrigger(trigger.getKey());
+                    }
+                } else {
+                    removeTrigger(trigger.getKey());
+                    signaler.signalSchedulingChange(0L);
+                }
+            }
+            case SET_TRIGGER_COMPLETE -> {
+                setState(holder, State.COMPLETE);
+                signaler.signalSchedulingChange(0L);
+            }
+            case SET_TRIGGER_ERROR -> {
+                LOG.info("Trigger {} set to ERROR state.", trigger.getKey());
+                setState(holder, State.ERROR);
+                signaler.signalSchedulingChange(0L);
+            }
+            case SET_ALL_JOB_TRIGGERS_ERROR -> {
+                LOG.info("All triggers of Job {} set to ERROR state.", trigger.getJobKey());
+                setAllJobTriggersState(trigger.getJobKey(), State.ERROR);
+                signaler.signalSchedulingChange(0L);
+            }
+            case SET_ALL_JOB_TRIGGERS_COMPLETE -> {
+                setAllJobTriggersState(trigger.getJobKey(), State.COMPLETE);
+                signaler.signalSchedulingChange(0L);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void setState(TriggerHolder holder, State state) {
+        synchronized (holder) {
+            holder.state = state;
+            holder.detach();
+        }
+    }
+
+    private void setAllJobTriggersState(JobKey jobKey, State state) {
+        JobHolder job = jobs.get(jobKey);
+        if (job != null) {
+            job.triggers.forEach(holder -> setState(holder, state));
+        }
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+    }
+
+    @Override
+    public void setThreadPoolSize(int poolSize) {
+    }
+
+    @Override
+    public long getAcquireRetryDelay(int failureCount) {
+        return 20;
+    }
+
+    /**
+     * Puts a waiting trigger on the wheel under a new entry, superseding the previous one; the caller holds the trigger lock.
+     */
+    private void enqueue(TriggerHolder holder) {
+        holder.detach();
+        Date nextFireTime = holder.trigger.getNextFireTime();
+        if (nextFireTime != null) {
+            holder.entry = new Entry(holder, nextFireTime.getTime(), holder.trigger.getPriority());
+            wheel.schedule(holder.entry);
+        }
+    }
+
+    /**
+     * Applies the misfire policy if the trigger is past the misfire threshold; the caller holds the trigger lock.
+     *
+     * @return true if the next fire time of the trigger changed
+     */
+    private boolean applyMisfire(TriggerHolder holder, long now) {
+        Date nextFireTime = holder.trigger.getNextFireTime();
+        if (nextFireTime == null
+                || nextFireTime.getTime() > now - misfireThreshold
+                || holder.trigger.getMisfireInstruction() == Trigger.MISFIRE_INSTRUCTION_IGNORE_MISFIRE_POLICY) {
+            return false;
+        }
+        Calendar calendar = holder.trigger.getCalendarName() == null ? null : calendars.get(holder.trigger.getCalendarName());
+        signaler.notifyTriggerListenersMisfired((OperableTrigger) holder.trigger.clone());
+        holder.trigger.updateAfterMisfire(calendar);
+
+        if (holder.trigger.getNextFireTime() == null) {
+            holder.state = State.COMPLETE;
+            holder.detach();
+            signaler.notifySchedulerListenersFinalized(holder.trigger);
+        } else if (nextFireTime.equals(holder.trigger.getNextFireTime())) {
+            return false;
+        }
+        return true;
+    }
+
+    private enum State {
+        WAITING, ACQUIRED, COMPLETE, PAUSED, BLOCKED, PAUSED_BLOCKED, ERROR
+    }
+
+    private enum Outcome {
+        ACQUIRED, DISCARDED, DEFERRED, STOP
+    }
+
+    private static final class JobHolder {
+
+        private final Set<TriggerHolder> triggers = ConcurrentHashMap.newKeySet();
+        private volatile JobDetail jobDetail;
+        private volatile boolean removed;
+
+        private JobHolder(JobDetail jobDetail) {
+            this.jobDetail = jobDetail;
+        }
+    }
+
+    private static final class TriggerHolder {
+
+        private final TriggerKey key;
+        private final JobKey jobKey;
+        private final OperableTrigger trigger;
+        private State state = State.WAITING;
+        private Entry entry;
+
+        private TriggerHolder(OperableTrigger trigger) {
+            this.key = trigger.getKey();
+            this.jobKey = trigger.getJobKey();
+            this.trigger = trigger;
+        }
+
+        /**
+         * Supersedes the current wheel entry, if any; the caller holds the trigger lock.
+         */
+        private void detach() {
+            if (entry != null) {
+                entry.holder = null;
+                entry = null;
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry entry) -> entry.fireTime)
+                .thenComparing(Comparator.comparingInt((Entry entry) -> entry.priority).reversed());
+
+        private final long fireTime;
+        private final int priority;
+        // Cleared once superseded, so a stale entry waiting for its bucket does not retain the trigger
+        private volatile TriggerHolder holder;
+
+        private Entry(TriggerHolder holder, long fireTime, int priority) {
+            this.holder = holder;
+            this.fireTime = fireTime;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The hashed wheel: bucket {@code tick & mask} holds the entries firing during that tick, in any revolution.
+     * <p>
+     * Ticks before {@code cursor} have been consumed. An entry scheduled into a consumed tick goes to the
+     * overdue queue instead; the cursor is advanced before a bucket is scanned and the insert re-checks it
+     * afterwards, so an entry racing with the scan always lands in a place that is visited again.
+     * Acquisition runs on the single scheduler thread.
+     * </p>
+     */
+    private final class Wheel {
+
+        private final long tick;
+        private final int mask;
+        private final Queue<Entry>[] buckets;
+        private final Queue<Entry> overdue = new ConcurrentLinkedQueue<>();
+        private volatile long cursor;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Wheel(long tick, int size) {
+            this.tick = tick;
+            this.mask = size - 1;
+            this.buckets = new Queue[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new ConcurrentLinkedQueue<>();
+            }
+            this.cursor = System.currentTimeMillis() / tick;
+        }
+
+        private void schedule(Entry entry) {
+            long entryTick = entry.fireTime / tick;
+            if (entryTick < cursor) {
+                overdue.add(entry);
+                return;
+            }
+            buckets[(int) (entryTick & mask)].add(entry);
+            if (entryTick < cursor) {
+                // The bucket was scanned concurrently; whichever copy is processed second finds the trigger
+                // no longer waiting, or the entry superseded, and is discarded
+                overdue.add(entry);
+            }
+        }
+
+        private synchronized List<OperableTrigger> acquire(long noLaterThan, int maxCount, long timeWindow) {
+            Acquisition acquisition = new Acquisition(noLaterThan, maxCount, timeWindow);
+            long nowTick = acquisition.now / tick;
+            if (nowTick - cursor >= buckets.length) {
+                catchUp(nowTick);
+            }
+
+            List<Entry> pending = new ArrayList<>();
+            for (Entry entry; (entry = overdue.poll()) != null; ) {
+                pending.add(entry);
+            }
+            pending.sort(Entry.ORDER);
+            int processed = 0;
+            for (Entry entry : pending) {
+                if (acquisition.process(entry) == Outcome.STOP) {
+                    break;
+                }
+                processed++;
+            }
+            overdue.addAll(pending.subList(processed, pending.size()));
+
+            long firstTick = cursor;
+            for (long t = firstTick; !acquisition.done && t * tick <= acquisition.batchEnd && t - firstTick < buckets.length; t++) {
+                boolean consumable = t <= nowTick;
+                if (consumable) {
+                    cursor = t + 1;
+                }
+                Queue<Entry> bucket = buckets[(int) (t & mask)];
+                List<Entry> due = new ArrayList<>();
+                for (Iterator<Entry> it = bucket.iterator(); it.hasNext(); ) {
+                    Entry entry = it.next();
+                    if (entry.fireTime / tick <= t) {
+                        // Unlinks the current node, unlike Queue.remove(Object) which searches the bucket again
+                        it.remove();
+                        due.add(entry);
+                    }
+                }
+                due.sort(Entry.ORDER);
+                int consumed = 0;
+                while (consumed < due.size() && !acquisition.done) {
+                    if (acquisition.process(due.get(consumed)) == Outcome.STOP) {
+                        break;
+                    }
+                    consumed++;
+                }
+                bucket.addAll(due.subList(consumed, due.size()));
+                if (acquisition.done && consumable) {
+                    // Entries may remain in this bucket; it must be visited again
+                    cursor = t;
+                }
+            }
+
+            acquisition.deferred.forEach(this::schedule);
+            return acquisition.result;
+        }
+
+        /**
+         * Moves every due entry to the overdue queue after the scheduler fell behind by more than a revolution.
+         */
+        private void catchUp(long nowTick) {
+            cursor = nowTick + 1;
+            for (Queue<Entry> bucket : buckets) {
+                bucket.removeIf(entry -> {
+                    if (entry.fireTime / tick <= nowTick) {
+                        overdue.add(entry);
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+    }
+
+    /**
+     * State of a single {@link #acquireNextTriggers} call.
+     */
+    private final class Acquisition {
+
+        private final long now = System.currentTimeMillis();
+        private final int maxCount;
+        private final long timeWindow;
+        private final List<OperableTrigger> result = new ArrayList<>();
+        private final Set<JobKey> acquiredNonConcurrentJobs = new HashSet<>();
+        private final List<Entry> deferred = new ArrayList<>();
+        private long batchEnd;
+        private boolean done;
+
+        private Acquisition(long noLaterThan, int maxCount, long timeWindow) {
+            this.batchEnd = noLaterThan;
+            this.maxCount = maxCount;
+            this.timeWindow = timeWindow;
+            this.done = maxCount <= 0;
+        }
+
+        /**
+         * Tries to acquire the trigger of an entry. Every outcome but {@link Outcome#STOP} consumes the entry.
+         */
+        private Outcome process(Entry entry) {
+            if (done) {
+                return Outcome.STOP;
+            }
+            TriggerHolder holder = entry.holder;
+            if (holder == null) {
+                return Outcome.DISCARDED;
+            }
+            synchronized (holder) {
+                if (entry.holder != holder || holder.state != State.WAITING || holder.trigger.getNextFireTime() == null) {
+                    return Outcome.DISCARDED;
+                }
+                if (applyMisfire(holder, now)) {
+                    if (holder.state == State.WAITING) {
+                        enqueue(holder);
+                    }
+                    return Outcome.DISCARDED;
+                }
+                long fireTime = holder.trigger.getNextFireTime().getTime();
+                if (fireTime > batchEnd) {
+                    done = true;
+                    return Outcome.STOP;
+                }
+                JobHolder job = jobs.get(holder.jobKey);
+                if (job == null) {
+                    return Outcome.DISCARDED;
+                }
+                if (job.jobDetail.isConcurrentExectionDisallowed() && !acquiredNonConcurrentJobs.add(holder.jobKey)) {
+                    deferred.add(entry);
+                    return Outcome.DEFERRED;
+                }
+                holder.state = State.ACQUIRED;
+                holder.trigger.setFireInstanceId(String.valueOf(firedTriggerCounter.incrementAndGet()));
+                result.add((OperableTrigger) holder.trigger.clone());
+                if (result.size() == 1) {
+                    batchEnd = Math.max(fireTime, now) + timeWindow;
+                }
+                done = result.size() >= maxCount;
+                return Outcome.ACQUIRED;
+            }
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Keyed tumbling or sliding window aggregation (count, sum, min, max, mean and percentiles) over primitive arrays.
+ * <p>
+ * Windows are split into panes of {@code gcd(size, slide)}; each value is added to a single pane and a window
+ * is assembled from its panes when it is emitted, so a sliding window costs no more per value than a tumbling one.
+ * Statistics are kept in flat arrays indexed by {@code pane slot * maxKeys + key id}, and keys are interned into
+ * ids once, so memory is fixed at construction and adding a value does not allocate.
+ * </p>
+ *
+ * <p>
+ * Time is event time in epoch milliseconds. Adding a value past the retained panes, {@link #advanceTo(long)} and
+ * {@link #flush()} emit every finished non-empty window to the {@link Sink}, oldest first. Values older than the
+ * retained panes are dropped and counted in {@link #getDropped()}. Percentiles come from a log-linear histogram
+ * with about 6% relative error, are only kept when enabled, and assume non-negative values.
+ * </p>
+ *
+ * <p>
+ * An instance is not thread-safe. Give each thread or shard its own instance with the same {@link Spec} and
+ * combine them with {@link #merge(WindowedAggregator)}.
+ * </p>
+ *
+ * <pre>{@code
+ * WindowedAggregator aggregator = new WindowedAggregator(
+ *         WindowedAggregator.Spec.sliding(Duration.ofMinutes(5), Duration.ofMinutes(1)).maxKeys(500).percentiles(true),
+ *         window -> {
+ *             for (int i = 0; i < window.size(); i++) {
+ *                 save(window.getStart(), window.key(i), window.sum(i), window.percentile(i, 0.99));
+ *             }
+ *         });
+ * readings.forEach(r -> aggregator.add(r.getDevice(), r.getTimestamp(), r.getValue()));
+ * aggregator.flush();
+ * }</pre>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public final class WindowedAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WindowedAggregator.class);
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -16;
+    private static final int MAX_EXPONENT = 47;
+
+    /**
+     * Bucket 0 holds zero, negative and tiny values; the others split each power of two into {@link #SUB_BUCKETS}.
+     */
+    private static final int HISTOGRAM_BUCKETS = 1 + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final long size;
+    private final long slide;
+    private final long pane;
+    private final int panesPerWindow;
+    private final int panesPerSlide;
+    private final int slots;
+    private final int maxKeys;
+    private final Sink sink;
+
+    private final KeyTable keys;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+    private final int[] histograms;
+    private final Window window;
+
+    private long nextWindowStart = UNSET;
+    private long headPane = UNSET;
+    private long dropped;
+    private boolean overflowReported;
+
+    public WindowedAggregator(Spec spec, Sink sink) {
+        this.sink = Objects.requireNonNull(sink);
+        this.size = spec.size.toMillis();
+        this.slide = spec.slide.toMillis();
+        this.pane = gcd(size, slide);
+        this.panesPerWindow = Math.toIntExact(size / pane);
+        this.panesPerSlide = Math.toIntExact(slide / pane);
+        this.slots = Math.toIntExact(panesPerWindow + ceilDiv(spec.allowedLateness.toMillis(), pane));
+        this.maxKeys = spec.maxKeys;
+        this.keys = new KeyTable(maxKeys);
+        int cells = Math.multiplyExact(slots, maxKeys);
+        this.counts = new long[cells];
+        this.sums = new double[cells];
+        this.mins = new double[cells];
+        this.maxs = new double[cells];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        this.histograms = spec.percentiles ? new int[Math.multiplyExact(cells, HISTOGRAM_BUCKETS)] : null;
+        this.window = new Window();
+    }
+
+    /**
+     * Adds a value, first emitting the windows that must close to make room for its pane.
+     *
+     * @param key       aggregation key
+     * @param timestamp event time, in epoch milliseconds
+     * @param value     value to aggregate; NaN is dropped
+     */
+    public void add(String key, long timestamp, double value) {
+        int keyId = keys.idOf(key);
+        if (keyId < 0) {
+            reportOverflow(key);
+            dropped++;
+            return;
+        }
+        if (Double.isNaN(value)) {
+            dropped++;
+            return;
+        }
+        int slot = reserve(Math.floorDiv(timestamp, pane));
+        if (slot < 0) {
+            dropped++;
+            return;
+        }
+        int cell = slot * maxKeys + keyId;
+        counts[cell]++;
+        sums[cell] += value;
+        mins[cell] = Math.min(mins[cell], value);
+        maxs[cell] = Math.max(maxs[cell], value);
+        if (histograms != null) {
+            histograms[cell * HISTOGRAM_BUCKETS + bucketOf(value)]++;
+        }
+    }
+
+    /**
+     * Emits every window ending at or before the watermark.
+     *
+     * @param watermark event time, in epoch milliseconds, up to which all values have been added
+     */
+    public void advanceTo(long watermark) {
+        if (nextWindowStart != UNSET) {
+            emitUntil(Math.floorDiv(watermark - size, slide) * slide + slide);
+        }
+    }
+
+    /**
+     * Emits every window holding values, including windows not finished yet, and resets the aggregator.
+     */
+    public void flush() {
+        if (headPane != UNSET) {
+            emitUntil(Math.floorDiv(headPane * pane, slide) * slide + slide);
+        }
+        nextWindowStart = UNSET;
+        headPane = UNSET;
+    }
+
+    /**
+     * Adds the partial aggregates of another aggregator with the same {@link Spec}, for example one filled by
+     * another thread or from another shard. The other aggregator is left unchanged.
+     * <p>
+     * Merged panes are treated like added values: a pane past the retained ones closes earlier windows, so the
+     * allowed lateness should cover the time skew between the aggregators merged into this one.
+     * </p>
+     *
+     * @param other aggregator to merge into this one
+     */
+    public void merge(WindowedAggregator other) {
+        if (other.pane != pane || other.size != size || other.slide != slide || other.maxKeys != maxKeys
+                || (other.histograms == null) != (histograms == null)) {
+            throw new IllegalArgumentException("Cannot merge aggregators with different specs.");
+        }
+        if (other.headPane == UNSET) {
+            return;
+        }
+        int[] keyIds = new int[other.keys.size()];
+        for (int i = 0; i < keyIds.length; i++) {
+            keyIds[i] = keys.idOf(other.keys.key(i));
+        }
+        for (long p = Math.floorDiv(other.nextWindowStart, pane); p <= other.headPane; p++) {
+            int from = other.slotOf(p) * maxKeys;
+            int slot = -1;
+            for (int otherKey = 0; otherKey < keyIds.length; otherKey++) {
+                int source = from + otherKey;
+                if (other.counts[source] == 0) {
+                    continue;
+                }
+                if (slot < 0) {
+                    slot = reserve(p);
+                }
+                if (slot < 0 || keyIds[otherKey] < 0) {
+                    if (keyIds[otherKey] < 0) {
+                        reportOverflow(other.keys.key(otherKey));
+                    }
+                    dropped += other.counts[source];
+                    continue;
+                }
+                int cell = slot * maxKeys + keyIds[otherKey];
+                counts[cell] += other.counts[source];
+                sums[cell] += other.sums[source];
+                mins[cell] = Math.min(mins[cell], other.mins[source]);
+                maxs[cell] = Math.max(maxs[cell], other.maxs[source]);
+                if (histograms != null) {
+                    for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                        histograms[cell * HISTOGRAM_BUCKETS + b] += other.histograms[source * HISTOGRAM_BUCKETS + b];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values dropped because they were late, NaN, or beyond {@link Spec#maxKeys(int)} keys.
+     *
+     * @return dropped value count
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns the slot of the given pane, emitting windows to make room for it,
+     * or -1 if the pane was already released.
+     */
+    private int reserve(long p) {
+        if (nextWindowStart == UNSET) {
+            nextWindowStart = Math.floorDiv((p - (slots - panesPerWindow)) * pane - size, slide) * slide + slide;
+        }
+        if (p >= firstPane() + slots) {
+            emitUntil(Math.floorDiv((p - slots) * pane, slide) * slide + slide);
+        }
+        if (p < firstPane()) {
+            return -1;
+        }
+        headPane = headPane == UNSET ? p : Math.max(headPane, p);
+        return slotOf(p);
+    }
+
+    private long firstPane() {
+        return Math.floorDiv(nextWindowStart, pane);
+    }
+
+    private int slotOf(long p) {
+        return Math.floorMod(p, slots);
+    }
+
+    /**
+     * Emits and releases windows until the next window starts at {@code target}.
+     */
+    private void emitUntil(long target) {
+        while (nextWindowStart < target) {
+            long first = firstPane();
+            if (headPane == UNSET || headPane < first) {
+                // Nothing retained, skip the empty windows
+                nextWindowStart = target;
+                return;
+            }
+            emit(nextWindowStart, first);
+            for (int i = 0; i < panesPerSlide; i++) {
+                clear(slotOf(first + i));
+            }
+            nextWindowStart += slide;
+        }
+    }
+
+    private void emit(long start, long first) {
+        int n = 0;
+        for (int key = 0; key < keys.size(); key++) {
+            long count = 0;
+            double sum = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < panesPerWindow; i++) {
+                int cell = slotOf(first + i) * maxKeys + key;
+                if (counts[cell] != 0) {
+                    count += counts[cell];
+                    sum += sums[cell];
+                    min = Math.min(min, mins[cell]);
+                    max = Math.max(max, maxs[cell]);
+                }
+            }
+            if (count != 0) {
+                window.keyIds[n] = key;
+                window.counts[n] = count;
+                window.sums[n] = sum;
+                window.mins[n] = min;
+                window.maxs[n] = max;
+                n++;
+            }
+        }
+        if (n > 0) {
+            window.start = start;
+            window.firstPane = first;
+            window.size = n;
+            sink.accept(window);
+        }
+    }
+
+    private void clear(int slot) {
+        int from = slot * maxKeys;
+        int to = from + keys.size();
+        Arrays.fill(counts, from, to, 0L);
+        Arrays.fill(sums, from, to, 0D);
+        Arrays.fill(mins, from, to, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, from, to, Double.NEGATIVE_INFINITY);
+        if (histograms != null) {
+            Arrays.fill(histograms, from * HISTOGRAM_BUCKETS, to * HISTOGRAM_BUCKETS, 0);
+        }
+    }
+
+    private void reportOverflow(String key) {
+        if (!overflowReported) {
+            overflowReported = true;
+            LOG.warn("Windowed aggregator is limited to {} keys, values of [{}] and further new keys are dropped.", maxKeys, key);
+        }
+    }
+
+    private static int bucketOf(double value) {
+        if (!(value > 0)) {
+            return 0;
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        int exponent = (int) ((bits >>> 52) & 0x7FF) - 1023;
+        if (exponent < MIN_EXPONENT) {
+            return 0;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return HISTOGRAM_BUCKETS - 1;
+        }
+        int subBucket = (int) ((bits >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static double midpointOf(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        int exponent = (bucket - 1) / SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = (bucket - 1) % SUB_BUCKETS;
+        return Math.scalb(1 + (subBucket + 0.5) / SUB_BUCKETS, exponent);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+
+    /**
+     * Receives finished windows.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Called once per emitted window. The window is a view over reused buffers,
+         * valid only until this method returns.
+         *
+         * @param window finished window
+         */
+        void accept(Window window);
+    }
+
+    /**
+     * Aggregates of the keys holding values in a window, indexed from 0 to {@link #size()}.
+     */
+    public final class Window {
+
+        private final int[] keyIds = new int[maxKeys];
+        private final long[] counts = new long[maxKeys];
+        private final double[] sums = new double[maxKeys];
+        private final double[] mins = new double[maxKeys];
+        private final double[] maxs = new double[maxKeys];
+        private final long[] histogram = histograms == null ? null : new long[HISTOGRAM_BUCKETS];
+        private long start;
+        private long firstPane;
+        private int size;
+
+        private Window() {
+        }
+
+        /**
+         * Returns the start of the window, in epoch milliseconds, inclusive.
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the end of the window, in epoch milliseconds, exclusive.
+         */
+        public long getEnd() {
+            return start + WindowedAggregator.this.size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public String key(int i) {
+            return keys.key(keyIds[i]);
+        }
+
+        public long count(int i) {
+            return counts[i];
+        }
+
+        public double sum(int i) {
+            return sums[i];
+        }
+
+        public double min(int i) {
+            return mins[i];
+        }
+
+        public double max(int i) {
+            return maxs[i];
+        }
+
+        public double mean(int i) {
+            return sums[i] / counts[i];
+        }
+
+        /**
+         * Returns an estimate of the given quantile of the values of a key, within its min and max.
+         *
+         * @param i        key index in this window
+         * @param quantile quantile between 0 and 1, such as 0.99
+         * @return estimated quantile
+         */
+        public double percentile(int i, double quantile) {
+            if (histogram == null) {
+                throw new IllegalStateException("Percentiles are not enabled for this aggregator.");
+            }
+            Arrays.fill(histogram, 0L);
+            for (int p = 0; p < panesPerWindow; p++) {
+                int from = (slotOf(firstPane + p) * maxKeys + keyIds[i]) * HISTOGRAM_BUCKETS;
+                for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                    histogram[b] += histograms[from + b];
+                }
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * counts[i]));
+            long seen = 0;
+            for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                seen += histogram[b];
+                if (seen >= rank) {
+                    return Math.min(maxs[i], Math.max(mins[i], midpointOf(b)));
+                }
+            }
+            return maxs[i];
+        }
+    }
+
+    /**
+     * Window shape and capacity of an aggregator.
+     */
+    public static final class Spec {
+
+        private final Duration size;
+        private final Duration slide;
+        private int maxKeys = 1024;
+        private boolean percentiles;
+        private Duration allowedLateness = Duration.ZERO;
+
+        private Spec(Duration size, Duration slide) {
+            if (size.toMillis() <= 0 || slide.toMillis() <= 0 || slide.compareTo(size) > 0) {
+                throw new IllegalArgumentException("Window size and slide must be positive, and slide no longer than size.");
+            }
+            this.size = size;
+            this.slide = slide;
+        }
+
+        /**
+         * Non-overlapping windows of the given size.
+         */
+        public static Spec tumbling(Duration size) {
+            return new Spec(size, size);
+        }
+
+        /**
+         * Windows of the given size starting every {@code slide}.
+         */
+        public static Spec sliding(Duration size, Duration slide) {
+            return new Spec(size, slide);
+        }
+
+        /**
+         * Maximum number of distinct keys; values of further keys are dropped. Defaults to 1024.
+         */
+        public Spec maxKeys(int maxKeys) {
+            if (maxKeys <= 0) {
+                throw new IllegalArgumentException("maxKeys must be positive.");
+            }
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        /**
+         * Whether to keep histograms for percentiles, about 4KB per key and pane. Disabled by default.
+         */
+        public Spec percentiles(boolean percentiles) {
+            this.percentiles = percentiles;
+            return this;
+        }
+
+        /**
+         * How far behind the newest value a value may be and still be aggregated. Defaults to zero,
+         * in which case a window is emitted as soon as a value past its end is added.
+         */
+        public Spec allowedLateness(Duration allowedLateness) {
+            this.allowedLateness = allowedLateness.isNegative() ? Duration.ZERO : allowedLateness;
+            return this;
+        }
+    }
+
+    /**
+     * Open-addressing table interning keys into dense ids.
+     */
+    private static final class KeyTable {
+
+        private final String[] table;
+        private final int[] ids;
+        private final String[] keys;
+        private int size;
+
+        private KeyTable(int capacity) {
+            int length = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            this.table = new String[length];
+            this.ids = new int[length];
+            this.keys = new String[capacity];
+        }
+
+        /**
+         * Returns the id of the key, assigning the next one to a new key, or -1 if the table is full.
+         */
+        private int idOf(String key) {
+            int mask = table.length - 1;
+            int h = key.hashCode();
+            int i = (h ^ (h >>> 16)) & mask;
+            while (table[i] != null) {
+                if (table[i].equals(key)) {
+                    return ids[i];
+                }
+                i = (i + 1) & mask;
+            }
+            if (size == keys.length) {
+                return -1;
+            }
+            table[i] = key;
+            ids[i] = size;
+            keys[size] = key;
+            return size++;
+        }
+
+        private String key(int id) {
+            return keys[id];
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
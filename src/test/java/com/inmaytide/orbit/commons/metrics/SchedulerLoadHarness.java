@@ -0,0 +1,305 @@
+package com.inmaytide.orbit.commons.metrics;
+
+import com.inmaytide.orbit.commons.utils.ApplicationContextHolder;
+import com.inmaytide.orbit.commons.utils.NamedStopWatch;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load harness booting {@link SchedulerConfiguration} and {@link ScheduledTasksInitializer} against the
+ * in-memory job store with thousands of synthetic jobs, reporting throughput, trigger lag and misfires.
+ * <p>
+ * The workload is derived from a fixed seed, so runs with the same settings schedule the same jobs with
+ * the same intervals and run-time sequences, and only the scheduler settings under test vary.
+ * Settings are read from system properties:
+ * </p>
+ * <pre>{@code
+ * -Dharness.jobs=2000                 number of synthetic jobs
+ * -Dharness.interval=5..60            fixed-time interval range of the jobs, in seconds
+ * -Dharness.runtime=exponential:200   run-time distribution (fixed|uniform|exponential|lognormal):mean millis
+ * -Dharness.duration=120              measured duration, in seconds
+ * -Dharness.seed=42                   workload seed
+ * -Dharness.store=ram                 in-memory job store (ram|timing_wheel)
+ * -Dharness.accounting=false          measure CPU time and allocations, reporting the heaviest jobs
+ * -Dharness.quartz.<key>=<value>      raw Quartz overrides, e.g. -Dharness.quartz.org.quartz.threadPool.threadCount=40
+ * }</pre>
+ *
+ * @author inmaytide
+ * @since 2026/10/18
+ */
+public class SchedulerLoadHarness {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchedulerLoadHarness.class);
+
+    private static final String QUARTZ_OVERRIDE_PREFIX = "harness.quartz.";
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        Workload workload = new Workload(settings);
+        Statistics statistics = new Statistics();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean("applicationContextHolder", ApplicationContextHolder.class);
+            context.registerBean("metricsProperties", MetricsProperties.class, () -> settings.toMetricsProperties());
+            context.registerBean("jobParametersHolder", JobParametersHolder.class, () -> workload::getParameter);
+            context.registerBean(Workload.class, () -> workload);
+            context.registerBean(Statistics.class, () -> statistics);
+            context.register(SchedulerConfiguration.class, HarnessTasksInitializer.class);
+            context.refresh();
+
+            LOG.info("Running {} synthetic job(s) for {}s.", settings.jobs, settings.duration.toSeconds());
+            statistics.start();
+            Thread.sleep(settings.duration.toMillis());
+            statistics.stop();
+        }
+
+        statistics.report(settings);
+    }
+
+    /**
+     * Registers the synthetic jobs instead of scanning packages, and creates job instances by name.
+     */
+    static class HarnessTasksInitializer extends ScheduledTasksInitializer {
+
+        private final Workload workload;
+
+        HarnessTasksInitializer(@Qualifier("scheduler") Scheduler scheduler,
+                                MetricsProperties env,
+                                Workload workload,
+                                Statistics statistics) throws SchedulerException {
+            super(scheduler, env);
+            this.workload = workload;
+            scheduler.setJobFactory((bundle, sched) -> new SyntheticJob(bundle.getJobDetail().getKey().getName(), workload, statistics));
+            scheduler.getListenerManager().addTriggerListener(statistics);
+        }
+
+        @Override
+        protected List<JobAdapter> getJobs() {
+            return workload.getJobNames().stream()
+                    .<JobAdapter>map(name -> new SyntheticJob(name, workload, null))
+                    .toList();
+        }
+    }
+
+    static class SyntheticJob implements JobAdapter {
+
+        private final String name;
+        private final Workload workload;
+        private final Statistics statistics;
+
+        SyntheticJob(String name, Workload workload, Statistics statistics) {
+            this.name = name;
+            this.workload = workload;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Logger getLogger() {
+            return LOG;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void exec(JobExecutionContext context, NamedStopWatch stopWatch) throws Exception {
+            statistics.recordLag(context.getFireTime().getTime() - context.getScheduledFireTime().getTime());
+            Thread.sleep(workload.nextRuntimeMillis(name));
+            statistics.recordCompletion();
+        }
+    }
+
+    /**
+     * Deterministic synthetic workload: job intervals and run-time sequences are derived from the seed.
+     */
+    static class Workload {
+
+        private final Map<String, JobParameter> parameters = new LinkedHashMap<>();
+        private final Map<String, Random> runtimes = new ConcurrentHashMap<>();
+        private final Settings settings;
+
+        Workload(Settings settings) {
+            this.settings = settings;
+            Random random = new Random(settings.seed);
+            for (int i = 0; i < settings.jobs; i++) {
+                String name = String.format("synthetic-%05d", i);
+                int interval = settings.minInterval + random.nextInt(settings.maxInterval - settings.minInterval + 1);
+                parameters.put(name, JobParameter.withName(name)
+                        .active()
+                        .fixedTime(BigDecimal.valueOf(interval))
+                        .reinitializeIfExistsOnServiceStartup(true)
+                        .build());
+                runtimes.put(name, new Random(settings.seed * 31 + i));
+            }
+        }
+
+        List<String> getJobNames() {
+            return new ArrayList<>(parameters.keySet());
+        }
+
+        JobParameter getParameter(String name) {
+            return parameters.get(name);
+        }
+
+        long nextRuntimeMillis(String name) {
+            Random random = runtimes.get(name);
+            synchronized (random) {
+                double mean = settings.runtimeMeanMillis;
+                double sample = switch (settings.runtimeDistribution) {
+                    case "fixed" -> mean;
+                    case "uniform" -> random.nextDouble() * 2 * mean;
+                    case "exponential" -> -mean * Math.log(1 - random.nextDouble());
+                    case "lognormal" -> mean * Math.exp(random.nextGaussian() - 0.5);
+                    default -> throw new IllegalArgumentException("Unknown run-time distribution: " + settings.runtimeDistribution);
+                };
+                return Math.max(0, Math.round(sample));
+            }
+        }
+    }
+
+    static class Statistics extends TriggerListenerSupport {
+
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder misfired = new LongAdder();
+        private final Queue<Long> lags = new ConcurrentLinkedQueue<>();
+        private final AtomicLong startedAt = new AtomicLong();
+        private final AtomicLong stoppedAt = new AtomicLong();
+
+        @Override
+        public String getName() {
+            return "loadHarnessStatistics";
+        }
+
+        @Override
+        public void triggerMisfired(Trigger trigger) {
+            if (isMeasuring()) {
+                misfired.increment();
+            }
+        }
+
+        void start() {
+            startedAt.set(System.currentTimeMillis());
+        }
+
+        void stop() {
+            stoppedAt.set(System.currentTimeMillis());
+        }
+
+        private boolean isMeasuring() {
+            return startedAt.get() > 0 && stoppedAt.get() == 0;
+        }
+
+        void recordLag(long lagMillis) {
+            if (isMeasuring()) {
+                lags.add(lagMillis);
+            }
+        }
+
+        void recordCompletion() {
+            if (isMeasuring()) {
+                completed.increment();
+            }
+        }
+
+        void report(Settings settings) {
+            long[] sorted = lags.stream().mapToLong(Long::longValue).sorted().toArray();
+            double seconds = (stoppedAt.get() - startedAt.get()) / 1000.0;
+            System.out.printf("""
+                            ==== Scheduler load harness ====
+                            jobs=%d interval=%d..%ds runtime=%s:%dms seed=%d quartz=%s
+                            duration      %.1fs
+                            fired         %d
+                            completed     %d (%.1f/s)
+                            misfires      %d
+                            trigger lag   p50=%dms p95=%dms p99=%dms max=%dms
+                            """,
+                    settings.jobs, settings.minInterval, settings.maxInterval,
+                    settings.runtimeDistribution, settings.runtimeMeanMillis, settings.seed, settings.quartz,
+                    seconds,
+                    sorted.length,
+                    completed.sum(), completed.sum() / seconds,
+                    misfired.sum(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+            if (JobResourceUsage.isEnabled()) {
+                System.out.println("top allocating jobs");
+                JobResourceUsage.snapshot().entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<String, JobResourceUsage.Usage> e) -> e.getValue().allocatedBytes()).reversed())
+                        .limit(5)
+                        .forEach(e -> System.out.printf("  %-14s runs=%d %s%n", e.getKey(), e.getValue().runs(), e.getValue()));
+            }
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+
+    record Settings(int jobs,
+                    int minInterval,
+                    int maxInterval,
+                    String runtimeDistribution,
+                    long runtimeMeanMillis,
+                    Duration duration,
+                    long seed,
+                    MetricsProperties.JobStore store,
+                    boolean accounting,
+                    Map<String, String> quartz) {
+
+        static Settings fromSystemProperties() {
+            String[] interval = System.getProperty("harness.interval", "5..60").split("\\.\\.");
+            String[] runtime = System.getProperty("harness.runtime", "exponential:200").split(":");
+            Map<String, String> quartz = new TreeMap<>();
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(key -> key.startsWith(QUARTZ_OVERRIDE_PREFIX))
+                    .forEach(key -> quartz.put(key.substring(QUARTZ_OVERRIDE_PREFIX.length()), System.getProperty(key)));
+            return new Settings(
+                    Integer.getInteger("harness.jobs", 2000),
+                    Integer.parseInt(interval[0]),
+                    Integer.parseInt(interval[interval.length - 1]),
+                    runtime[0],
+                    Long.parseLong(runtime[1]),
+                    Duration.ofSeconds(Long.getLong("harness.duration", 120L)),
+                    Long.getLong("harness.seed", 42L),
+                    MetricsProperties.JobStore.valueOf(System.getProperty("harness.store", "ram").toUpperCase()),
+                    Boolean.getBoolean("harness.accounting"),
+                    quartz
+            );
+        }
+
+        @NonNull
+        MetricsProperties toMetricsProperties() {
+            MetricsProperties properties = new MetricsProperties();
+            properties.setSchedulerInstanceName("loadHarnessScheduler");
+            properties.setPersist(false);
+            properties.setJobStore(store);
+            properties.setResourceAccounting(accounting);
+            properties.getStartupFiring().setInterval(Duration.ZERO);
+            properties.getShutdown().setDrainTimeout(Duration.ofSeconds(5));
+            properties.getShutdown().setCheckpointTimeout(Duration.ZERO);
+            properties.setQuartz(new HashMap<>(quartz));
+            return properties;
+        }
+    }
+}